@@ -0,0 +1,89 @@
+package com.andyestrada.crochetcreations.benchmarks;
+
+import com.andyestrada.crochetcreations.configuration.security.JwtAuthenticationFilter;
+import com.andyestrada.crochetcreations.entities.Role;
+import com.andyestrada.crochetcreations.entities.User;
+import com.andyestrada.crochetcreations.services.authentication.JwtService;
+import com.andyestrada.crochetcreations.services.authentication.JwtServiceImpl;
+import com.andyestrada.crochetcreations.services.authentication.TokenRevocationServiceImpl;
+import com.andyestrada.crochetcreations.services.authentication.UserService;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"false", "true"})
+    private boolean statelessAuthorities;
+
+    private JwtAuthenticationFilter filter;
+    private String authHeader;
+    private String tamperedAuthHeader;
+    private final FilterChain filterChain = (request, response) -> { };
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = new JwtServiceImpl(JwtServiceBenchmark.SIGNING_KEY, Duration.ofMinutes(24),
+                new SimpleMeterRegistry());
+        User user = User.builder().id(1L).email("user@email.com").password("hash").role(Role.USER).build();
+        filter = new JwtAuthenticationFilter(jwtService, new StubUserService(user),
+                new TokenRevocationServiceImpl(1024), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(filter, "statelessAuthorities", statelessAuthorities);
+        authHeader = "Bearer " + jwtService.generateToken(user);
+        tamperedAuthHeader = authHeader.substring(0, authHeader.length() - 2) + "AA";
+    }
+
+    @Benchmark
+    public MockHttpServletResponse doFilter() throws Exception {
+        return filter(authHeader);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse doFilterWithTamperedToken() throws Exception {
+        return filter(tamperedAuthHeader);
+    }
+
+    private MockHttpServletResponse filter(String header) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/user/cart");
+        request.addHeader("Authorization", header);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, filterChain);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response;
+    }
+
+    private record StubUserService(User user) implements UserService {
+
+        @Override
+        public UserDetailsService userDetailsService() {
+            return email -> user;
+        }
+
+        @Override
+        public void evictUser(String email) {
+        }
+
+        @Override
+        public CacheStats userCacheStats() {
+            return CacheStats.empty();
+        }
+    }
+}
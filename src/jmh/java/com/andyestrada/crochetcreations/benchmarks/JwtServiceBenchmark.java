@@ -0,0 +1,55 @@
+package com.andyestrada.crochetcreations.benchmarks;
+
+import com.andyestrada.crochetcreations.entities.Role;
+import com.andyestrada.crochetcreations.entities.User;
+import com.andyestrada.crochetcreations.services.authentication.JwtService;
+import com.andyestrada.crochetcreations.services.authentication.JwtServiceImpl;
+import com.andyestrada.crochetcreations.services.authentication.VerifiedToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    static final String SIGNING_KEY = "413F4428472B4B6250655368566D5970337336763979244226452948404D6351";
+
+    private JwtService jwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtServiceImpl(SIGNING_KEY, Duration.ofMinutes(24),
+                new SimpleMeterRegistry());
+        user = User.builder().id(1L).email("user@email.com").role(Role.USER).build();
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(token, user);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyToken() {
+        return jwtService.verifyToken(token);
+    }
+}
@@ -0,0 +1,57 @@
+package com.andyestrada.crochetcreations.benchmarks;
+
+import com.andyestrada.crochetcreations.configuration.security.BCryptStrengthCalibrator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.ResourcePropertySource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+    // empty resolves the strength the application would use; -p strength=N benchmarks an explicit cost
+    @Param({""})
+    private String strength;
+
+    private BCryptPasswordEncoder passwordEncoder;
+    private String encodedPassword;
+
+    @Setup
+    public void setUp() throws IOException {
+        passwordEncoder = new BCryptPasswordEncoder(strength.isEmpty() ? configuredStrength() : Integer.parseInt(strength));
+        encodedPassword = passwordEncoder.encode("12345");
+    }
+
+    @Benchmark
+    public String encode() {
+        return passwordEncoder.encode("12345");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches("12345", encodedPassword);
+    }
+
+    // system properties and active profiles take precedence over application.properties, as in the application
+    private static int configuredStrength() throws IOException {
+        StandardEnvironment environment = new StandardEnvironment();
+        String[] profiles = environment.getActiveProfiles();
+        for (int i = profiles.length - 1; i >= 0; i--) {
+            ClassPathResource resource = new ClassPathResource("application-" + profiles[i] + ".properties");
+            if (resource.exists()) {
+                environment.getPropertySources().addLast(new ResourcePropertySource(resource));
+            }
+        }
+        environment.getPropertySources().addLast(new ResourcePropertySource(new ClassPathResource("application.properties")));
+        return BCryptStrengthCalibrator.resolveStrength(environment);
+    }
+}
@@ -0,0 +1,150 @@
+package com.andyestrada.crochetcreations.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                "rate-limit.enabled=false",
+                "seed.enabled=true",
+                "seed.async=false",
+                "auth.executor.queue-capacity=1024"
+        })
+public class AuthenticationLoadTest {
+
+    private static final String PASSWORD = "LoadTest#1";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Test
+    public void shouldStayWithinLatencyAndThroughputThresholds() throws Exception {
+        //given
+        int concurrency = Integer.getInteger("loadtest.concurrency", 16);
+        int signups = Integer.getInteger("loadtest.signups", 200);
+        int signins = Integer.getInteger("loadtest.signins", 400);
+        int reads = Integer.getInteger("loadtest.reads", 4000);
+        int warmup = Integer.getInteger("loadtest.warmup", 50);
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        String adminToken = signin("admin@email.com", "12345");
+        AtomicReferenceArray<String> userTokens = new AtomicReferenceArray<>(signups);
+        List<ScenarioResult> results = new ArrayList<>();
+        Instant startedAt = Instant.now();
+        //when
+        try (LoadGenerator generator = new LoadGenerator(concurrency)) {
+            generator.run("warmup", warmup,
+                    i -> post("/api/v1/auth/signup", signupBody("warmup-" + runId, i)), i -> status -> true, null);
+            results.add(generator.run("signup", signups,
+                    i -> post("/api/v1/auth/signup", signupBody(runId, i)),
+                    i -> status -> status == 200,
+                    (response, i) -> userTokens.set(i, token(response.body()))));
+            // every tenth signin uses a wrong password to exercise the rejection path
+            results.add(generator.run("signin", signins,
+                    i -> post("/api/v1/auth/signin", signinBody(email(runId, i % signups), i % 10 == 9 ? "wrong" : PASSWORD)),
+                    i -> i % 10 == 9 ? status -> status == 401 : status -> status == 200,
+                    null));
+            results.add(generator.run("cart", reads,
+                    i -> get("/api/v1/user/cart", userTokens.get(i % signups)),
+                    i -> status -> status == 200,
+                    null));
+            results.add(generator.run("admin-home", reads,
+                    i -> get("/api/v1/admin/home", adminToken),
+                    i -> status -> status == 200,
+                    null));
+        }
+        //then
+        LoadThresholds thresholds = new LoadThresholds();
+        List<String> violations = new ArrayList<>(thresholds.check(results));
+        String baseline = System.getProperty("loadtest.baseline", "");
+        if (!baseline.isBlank()) {
+            violations.addAll(thresholds.compareWithBaseline(results, Path.of(baseline),
+                    Double.parseDouble(System.getProperty("loadtest.baseline.tolerance", "0.25")), mapper));
+        }
+        writeReport(startedAt, concurrency, results, violations);
+        assertThat(violations, empty());
+    }
+
+    private void writeReport(Instant startedAt, int concurrency, List<ScenarioResult> results,
+                             List<String> violations) throws Exception {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("startedAt", startedAt.toString());
+        report.put("concurrency", concurrency);
+        report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        report.put("scenarios", results);
+        report.put("violations", violations);
+        Path path = Path.of(System.getProperty("loadtest.report", "target/loadtest-report.json"));
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        mapper.writerWithDefaultPrettyPrinter().writeValue(path.toFile(), report);
+    }
+
+    private String signin(String email, String password) throws Exception {
+        HttpResponse<String> response = HttpClient.newHttpClient()
+                .send(post("/api/v1/auth/signin", signinBody(email, password)), HttpResponse.BodyHandlers.ofString());
+        return token(response.body());
+    }
+
+    private String token(String body) {
+        try {
+            JsonNode json = mapper.readTree(body);
+            return json.path("token").asText();
+        } catch (Exception e) {
+            throw new IllegalStateException("Unexpected authentication response: " + body, e);
+        }
+    }
+
+    private HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static String email(String runId, int index) {
+        return "load-" + runId + "-" + index + "@example.com";
+    }
+
+    private static String signupBody(String runId, int index) {
+        return "{\"firstName\":\"Load\",\"lastName\":\"Test\",\"email\":\"" + email(runId, index)
+                + "\",\"password\":\"" + PASSWORD + "\"}";
+    }
+
+    private static String signinBody(String email, String password) {
+        return "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}";
+    }
+}
@@ -0,0 +1,107 @@
+package com.andyestrada.crochetcreations.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.ObjIntConsumer;
+
+public class LoadGenerator implements AutoCloseable {
+
+    private final int concurrency;
+    private final ExecutorService workers;
+    private final ExecutorService httpExecutor;
+    private final HttpClient httpClient;
+
+    public LoadGenerator(int concurrency) {
+        this.concurrency = concurrency;
+        this.workers = Executors.newFixedThreadPool(concurrency);
+        this.httpExecutor = Executors.newFixedThreadPool(concurrency);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(httpExecutor)
+                .build();
+    }
+
+    public ScenarioResult run(String name,
+                              int requests,
+                              IntFunction<HttpRequest> requestFactory,
+                              IntFunction<IntPredicate> expectedStatus,
+                              ObjIntConsumer<HttpResponse<String>> onResponse) throws Exception {
+        long[] latencies = new long[requests];
+        int[] statuses = new int[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        List<Future<?>> running = new ArrayList<>(concurrency);
+        long start = System.nanoTime();
+        for (int worker = 0; worker < concurrency; worker++) {
+            running.add(workers.submit(() -> {
+                for (int i = next.getAndIncrement(); i < requests; i = next.getAndIncrement()) {
+                    HttpRequest request = requestFactory.apply(i);
+                    long sent = System.nanoTime();
+                    try {
+                        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                        latencies[i] = System.nanoTime() - sent;
+                        statuses[i] = response.statusCode();
+                        if (!expectedStatus.apply(i).test(response.statusCode())) {
+                            errors.incrementAndGet();
+                        } else if (onResponse != null) {
+                            onResponse.accept(response, i);
+                        }
+                    } catch (Exception e) {
+                        latencies[i] = System.nanoTime() - sent;
+                        errors.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : running) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        return summarize(name, requests, errors.get(), elapsed, latencies, statuses);
+    }
+
+    @Override
+    public void close() {
+        workers.shutdownNow();
+        httpExecutor.shutdownNow();
+    }
+
+    private static ScenarioResult summarize(String name, int requests, int errors, long elapsedNanos,
+                                            long[] latencies, int[] statuses) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        Map<Integer, Integer> statusCounts = new TreeMap<>();
+        for (int status : statuses) {
+            statusCounts.merge(status, 1, Integer::sum);
+        }
+        return new ScenarioResult(name,
+                requests,
+                errors,
+                Duration.ofNanos(elapsedNanos).toMillis(),
+                requests / (elapsedNanos / 1e9),
+                percentile(sorted, 0.50),
+                percentile(sorted, 0.95),
+                percentile(sorted, 0.99),
+                sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6,
+                statusCounts);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
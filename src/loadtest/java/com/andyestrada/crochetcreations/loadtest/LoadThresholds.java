@@ -0,0 +1,81 @@
+package com.andyestrada.crochetcreations.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+public class LoadThresholds {
+
+    private static final String RESOURCE = "/loadtest-thresholds.properties";
+
+    private final Properties limits = new Properties();
+
+    public LoadThresholds() throws IOException {
+        try (InputStream input = LoadThresholds.class.getResourceAsStream(RESOURCE)) {
+            if (input != null) {
+                limits.load(input);
+            }
+        }
+    }
+
+    public List<String> check(List<ScenarioResult> results) {
+        List<String> violations = new ArrayList<>();
+        for (ScenarioResult result : results) {
+            double maxErrorRate = limit(result.name(), "max-error-rate", 0.0);
+            if (result.errorRate() > maxErrorRate) {
+                violations.add(String.format("%s: error rate %.4f exceeds %.4f",
+                        result.name(), result.errorRate(), maxErrorRate));
+            }
+            double maxP99 = limit(result.name(), "p99-ms", Double.MAX_VALUE);
+            if (result.p99Millis() > maxP99) {
+                violations.add(String.format("%s: p99 %.1fms exceeds %.1fms", result.name(), result.p99Millis(), maxP99));
+            }
+            double minThroughput = limit(result.name(), "min-throughput", 0.0);
+            if (result.throughputPerSecond() < minThroughput) {
+                violations.add(String.format("%s: throughput %.1f/s is below %.1f/s",
+                        result.name(), result.throughputPerSecond(), minThroughput));
+            }
+        }
+        return violations;
+    }
+
+    public List<String> compareWithBaseline(List<ScenarioResult> results, Path baseline, double tolerance,
+                                            ObjectMapper mapper) throws IOException {
+        List<String> violations = new ArrayList<>();
+        if (baseline == null || !Files.exists(baseline)) {
+            return violations;
+        }
+        JsonNode previous = mapper.readTree(baseline.toFile()).path("scenarios");
+        for (ScenarioResult result : results) {
+            for (JsonNode scenario : previous) {
+                if (!result.name().equals(scenario.path("name").asText())) {
+                    continue;
+                }
+                double allowedP99 = scenario.path("p99Millis").asDouble() * (1 + tolerance);
+                if (result.p99Millis() > allowedP99) {
+                    violations.add(String.format("%s: p99 %.1fms regressed beyond baseline %.1fms (+%.0f%%)",
+                            result.name(), result.p99Millis(), scenario.path("p99Millis").asDouble(), tolerance * 100));
+                }
+                double allowedThroughput = scenario.path("throughputPerSecond").asDouble() * (1 - tolerance);
+                if (result.throughputPerSecond() < allowedThroughput) {
+                    violations.add(String.format("%s: throughput %.1f/s regressed below baseline %.1f/s (-%.0f%%)",
+                            result.name(), result.throughputPerSecond(),
+                            scenario.path("throughputPerSecond").asDouble(), tolerance * 100));
+                }
+            }
+        }
+        return violations;
+    }
+
+    private double limit(String scenario, String key, double defaultValue) {
+        String value = limits.getProperty(scenario + "." + key, limits.getProperty("default." + key));
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+}
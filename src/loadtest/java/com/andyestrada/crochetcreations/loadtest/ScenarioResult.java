@@ -0,0 +1,19 @@
+package com.andyestrada.crochetcreations.loadtest;
+
+import java.util.Map;
+
+public record ScenarioResult(String name,
+                             int requests,
+                             int errors,
+                             long durationMillis,
+                             double throughputPerSecond,
+                             double p50Millis,
+                             double p95Millis,
+                             double p99Millis,
+                             double maxMillis,
+                             Map<Integer, Integer> statusCounts) {
+
+    public double errorRate() {
+        return requests == 0 ? 0 : (double) errors / requests;
+    }
+}
@@ -2,10 +2,17 @@ package com.andyestrada.crochetcreations;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication
 public class CrochetCreationsApplication {
     public static void main(String[] args) {
-    	SpringApplication.run(CrochetCreationsApplication.class, args);
+    	SpringApplication application = new SpringApplication(CrochetCreationsApplication.class);
+    	int timelineCapacity = Integer.parseInt(System.getProperty("startup.timeline.capacity",
+    			System.getenv().getOrDefault("STARTUP_TIMELINE_CAPACITY", "0")));
+    	if (timelineCapacity > 0) {
+    		application.setApplicationStartup(new BufferingApplicationStartup(timelineCapacity));
+    	}
+    	application.run(args);
     }
 }
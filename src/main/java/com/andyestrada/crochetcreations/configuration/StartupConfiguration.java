@@ -0,0 +1,27 @@
+package com.andyestrada.crochetcreations.configuration;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Configuration(proxyBeanMethods = false)
+public class StartupConfiguration {
+
+    // Beans with @Scheduled methods only get their schedules registered once instantiated,
+    // so they must stay eager when spring.main.lazy-initialization is enabled.
+    @Bean
+    static LazyInitializationExcludeFilter scheduledBeansLazyInitializationExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> {
+            AtomicBoolean scheduled = new AtomicBoolean();
+            ReflectionUtils.doWithMethods(ClassUtils.getUserClass(beanType),
+                    method -> scheduled.set(true),
+                    method -> method.isAnnotationPresent(Scheduled.class));
+            return scheduled.get();
+        };
+    }
+}
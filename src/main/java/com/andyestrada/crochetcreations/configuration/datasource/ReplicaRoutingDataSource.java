@@ -0,0 +1,178 @@
+package com.andyestrada.crochetcreations.configuration.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// must sit behind a LazyConnectionDataSourceProxy so the transaction's read-only flag is known at lookup
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    static final String PRIMARY = "primary";
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+    private final Counter replicaFailovers;
+    private final ScheduledExecutorService healthChecks = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replica-health-check");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas,
+                                    MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        this.replicas.forEach(replica -> targets.put(replica.name(), replica.dataSource()));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        this.primaryConnections = connectionCounter(meterRegistry, PRIMARY);
+        this.replicaConnections = connectionCounter(meterRegistry, "replica");
+        this.replicaFailovers = Counter.builder("datasource.routing.failovers")
+                .description("Replica connections that failed and were served by the primary instead")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Object key = determineCurrentLookupKey();
+        if (PRIMARY.equals(key)) {
+            primaryConnections.increment();
+            return primary.getConnection();
+        }
+        Replica replica = replicas.stream().filter(r -> r.name().equals(key)).findFirst().orElseThrow();
+        try {
+            Connection connection = replica.dataSource().getConnection();
+            replicaConnections.increment();
+            return connection;
+        } catch (SQLException e) {
+            replica.markDown(e);
+            replicaFailovers.increment();
+            primaryConnections.increment();
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        Replica replica = leastBusyReplica();
+        return replica != null ? replica.name() : PRIMARY;
+    }
+
+    // a down replica blocks its probe for the connection timeout, so probes get their own thread
+    public void startHealthChecks(Duration interval) {
+        healthChecks.scheduleWithFixedDelay(this::checkReplicas, interval.toMillis(), interval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource().getConnection()) {
+                if (connection.isValid(1)) {
+                    replica.markUp();
+                } else {
+                    replica.markDown(null);
+                }
+            } catch (SQLException e) {
+                replica.markDown(e);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        healthChecks.shutdownNow();
+        replicas.forEach(replica -> replica.dataSource().close());
+        primary.close();
+    }
+
+    private Replica leastBusyReplica() {
+        int size = replicas.size();
+        // starting from a rotating offset spreads load round-robin among equally busy replicas
+        int offset = Math.floorMod(nextReplica.getAndIncrement(), Math.max(size, 1));
+        Replica best = null;
+        int bestActive = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((offset + i) % size);
+            if (!replica.healthy()) {
+                continue;
+            }
+            int active = replica.activeConnections();
+            if (active < bestActive) {
+                best = replica;
+                bestActive = active;
+            }
+        }
+        return best;
+    }
+
+    private static Counter connectionCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("datasource.routing.connections")
+                .description("Connections handed out by target pool")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        private String name() {
+            return dataSource.getPoolName();
+        }
+
+        private HikariDataSource dataSource() {
+            return dataSource;
+        }
+
+        private boolean healthy() {
+            return healthy;
+        }
+
+        private int activeConnections() {
+            return dataSource.getHikariPoolMXBean() != null ? dataSource.getHikariPoolMXBean().getActiveConnections() : 0;
+        }
+
+        private void markUp() {
+            if (!healthy) {
+                log.info("Replica {} is available again", name());
+                healthy = true;
+            }
+        }
+
+        private void markDown(SQLException cause) {
+            if (healthy) {
+                log.warn("Replica {} is unavailable, routing its reads to the primary", name(), cause);
+                healthy = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.andyestrada.crochetcreations.configuration.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "datasource.routing")
+public class RoutingDataSourceProperties {
+
+    private boolean enabled = false;
+    private int primaryPoolSize = 10;
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+    private Duration replicaConnectionTimeout = Duration.ofSeconds(1);
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private int poolSize = 10;
+    }
+}
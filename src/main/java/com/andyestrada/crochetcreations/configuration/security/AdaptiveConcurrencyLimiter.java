@@ -0,0 +1,94 @@
+package com.andyestrada.crochetcreations.configuration.security;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// gradient limit: shrinks as window latency rises above the long-term average, grows while they agree
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double RTT_TOLERANCE = 1.5;
+    private static final double LONG_RTT_DECAY = 0.05;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final int windowSize;
+    private final long windowNanos;
+    private volatile int limit;
+    private double estimatedLimit;
+    private double longRttNanos;
+    private long windowStartNanos;
+    private int windowSamples;
+    private long windowRttSumNanos;
+    private int windowMaxInFlight;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double smoothing,
+                                      int windowSize, Duration window) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.windowSize = windowSize;
+        this.windowNanos = window.toNanos();
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long startNanos, long nowNanos) {
+        int concurrent = inFlight.getAndDecrement();
+        sample(nowNanos - startNanos, concurrent, nowNanos);
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void sample(long rttNanos, int concurrent, long nowNanos) {
+        if (windowSamples == 0) {
+            windowStartNanos = nowNanos;
+        }
+        windowSamples++;
+        windowRttSumNanos += rttNanos;
+        windowMaxInFlight = Math.max(windowMaxInFlight, concurrent);
+        if (windowSamples < windowSize && nowNanos - windowStartNanos < windowNanos) {
+            return;
+        }
+        double shortRttNanos = (double) windowRttSumNanos / windowSamples;
+        int maxInFlight = windowMaxInFlight;
+        windowSamples = 0;
+        windowRttSumNanos = 0;
+        windowMaxInFlight = 0;
+
+        longRttNanos = longRttNanos == 0 ? shortRttNanos
+                : longRttNanos * (1 - LONG_RTT_DECAY) + shortRttNanos * LONG_RTT_DECAY;
+        // after latency drops for good the baseline would otherwise lag behind for many windows
+        if (longRttNanos / shortRttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+        // a window that never came close to the limit says nothing about whether it is too low
+        if (maxInFlight < estimatedLimit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * longRttNanos / shortRttNanos));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit,
+                estimatedLimit * (1 - smoothing) + newLimit * smoothing));
+        limit = (int) estimatedLimit;
+    }
+}
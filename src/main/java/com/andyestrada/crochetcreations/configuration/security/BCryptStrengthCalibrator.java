@@ -0,0 +1,56 @@
+package com.andyestrada.crochetcreations.configuration.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.env.PropertyResolver;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+@Slf4j
+public final class BCryptStrengthCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "calibration-sample";
+    private static final int SAMPLES = 3;
+
+    private BCryptStrengthCalibrator() {
+    }
+
+    public static int resolveStrength(PropertyResolver properties) {
+        int strength = properties.getProperty("password.bcrypt.strength", Integer.class, 10);
+        if (!properties.getProperty("password.bcrypt.calibration.enabled", Boolean.class, false)) {
+            return strength;
+        }
+        Duration target = DurationStyle.detectAndParse(
+                properties.getProperty("password.bcrypt.calibration.target", "250ms"));
+        strength = calibrate(target,
+                properties.getProperty("password.bcrypt.calibration.min-strength", Integer.class, 10),
+                properties.getProperty("password.bcrypt.calibration.max-strength", Integer.class, 16));
+        log.info("Calibrated BCrypt strength to {} for a target hash time of {}", strength, target);
+        return strength;
+    }
+
+    public static int calibrate(Duration target, int minStrength, int maxStrength) {
+        long targetNanos = target.toNanos();
+        int strength = minStrength;
+        long estimatedNanos = measure(minStrength);
+        // Each additional cost factor doubles the number of key-expansion rounds.
+        while (strength < maxStrength && estimatedNanos * 2 <= targetNanos) {
+            strength++;
+            estimatedNanos *= 2;
+        }
+        return strength;
+    }
+
+    private static long measure(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        encoder.encode(SAMPLE_PASSWORD);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,115 @@
+package com.andyestrada.crochetcreations.configuration.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+@Component
+public class ConcurrencyLimitingFilter extends OncePerRequestFilter {
+
+    private final boolean enabled;
+    private final AntPathRequestMatcher matcher;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final Counter rejections;
+
+    public ConcurrencyLimitingFilter(MeterRegistry meterRegistry,
+                                     @Value("${auth.concurrency-limit.enabled:true}") boolean enabled,
+                                     @Value("${auth.concurrency-limit.path:/api/v1/auth/**}") String path,
+                                     @Value("${auth.concurrency-limit.method:POST}") String method,
+                                     @Value("${auth.concurrency-limit.initial-limit:20}") int initialLimit,
+                                     @Value("${auth.concurrency-limit.min-limit:2}") int minLimit,
+                                     @Value("${auth.concurrency-limit.max-limit:200}") int maxLimit,
+                                     @Value("${auth.concurrency-limit.smoothing:0.2}") double smoothing,
+                                     @Value("${auth.concurrency-limit.window-size:20}") int windowSize,
+                                     @Value("${auth.concurrency-limit.window:1s}") Duration window) {
+        this.enabled = enabled;
+        this.matcher = new AntPathRequestMatcher(path, method);
+        this.limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, smoothing, windowSize, window);
+        this.rejections = Counter.builder("auth.concurrency.rejected")
+                .description("Authentication requests shed because the concurrency limit was reached")
+                .register(meterRegistry);
+        Gauge.builder("auth.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Authentication requests currently allowed in flight")
+                .register(meterRegistry);
+        Gauge.builder("auth.concurrency.in-flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Authentication requests currently in flight")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !matcher.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!limiter.tryAcquire()) {
+            rejections.increment();
+            reject(request, response);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean releasedLater = false;
+        try {
+            filterChain.doFilter(request, response);
+            // signin and signup complete on the password hashing pool, after this thread has returned
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleasingAsyncListener(start));
+                releasedLater = true;
+            }
+        } finally {
+            if (!releasedLater) {
+                limiter.release(start, System.nanoTime());
+            }
+        }
+    }
+
+    private static void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        ProblemDetailResponses.write(request, response, HttpStatus.SERVICE_UNAVAILABLE,
+                "The server is busy, please retry shortly.");
+    }
+
+    private class ReleasingAsyncListener implements AsyncListener {
+
+        private final long start;
+
+        private ReleasingAsyncListener(long start) {
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            limiter.release(start, System.nanoTime());
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -1,55 +1,174 @@
 package com.andyestrada.crochetcreations.configuration.security;
 
+import com.andyestrada.crochetcreations.entities.Role;
 import com.andyestrada.crochetcreations.services.authentication.JwtService;
+import com.andyestrada.crochetcreations.services.authentication.TokenRevocationService;
 import com.andyestrada.crochetcreations.services.authentication.UserService;
+import com.andyestrada.crochetcreations.services.authentication.VerifiedToken;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
-import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
 
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String INVALID_TOKEN_CHALLENGE = "Bearer error=\"invalid_token\"";
+    private static final byte[] INVALID_TOKEN_BODY = ("{\"type\":\"about:blank\",\"title\":\"Unauthorized\","
+            + "\"status\":401,\"detail\":\"The access token is malformed, expired or revoked.\"}")
+            .getBytes(StandardCharsets.UTF_8);
+
     private final JwtService jwtService;
     private final UserService userService;
+    private final TokenRevocationService tokenRevocationService;
+    private final WebAuthenticationDetailsSource detailsSource = new WebAuthenticationDetailsSource();
+    private final SecurityContextRepository securityContextRepository = new RequestAttributeSecurityContextRepository();
+    private final Timer filterTimer;
+    private final Counter rejectedCounter;
+
+    @Value("${token.stateless-authorities.enabled:false}")
+    private boolean statelessAuthorities;
+
+    @Value("${token.max-header-length:4096}")
+    private int maxHeaderLength = 4096;
+
+    public JwtAuthenticationFilter(JwtService jwtService, UserService userService,
+                                   TokenRevocationService tokenRevocationService, MeterRegistry meterRegistry) {
+        this.jwtService = jwtService;
+        this.userService = userService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.filterTimer = Timer.builder("auth.filter")
+                .description("Time spent authenticating the bearer token, excluding the rest of the chain")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.filter.rejected")
+                .description("Requests rejected with 401 because of an unusable bearer token")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return SecurityConfiguration.PUBLIC_ROUTES.matches(request);
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
-        final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String userEmail;
-        if (StringUtils.isEmpty(authHeader) || !StringUtils.startsWith(authHeader, "Bearer ")) {
-            filterChain.doFilter(request, response);
+        long start = System.nanoTime();
+        boolean authenticated;
+        try {
+            authenticated = authenticate(request, response);
+        } finally {
+            filterTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (!authenticated) {
+            rejectedCounter.increment();
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            response.setHeader(HttpHeaders.WWW_AUTHENTICATE, INVALID_TOKEN_CHALLENGE);
+            response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+            response.setContentLength(INVALID_TOKEN_BODY.length);
+            response.getOutputStream().write(INVALID_TOKEN_BODY);
             return;
         }
-        jwt = authHeader.substring(7);
-        userEmail = jwtService.extractUsername(jwt);
-        if (StringUtils.isNotEmpty(userEmail)
-                && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userService.userDetailsService().loadUserByUsername(userEmail);
-            if (jwtService.isTokenValid(jwt, userDetails)) {
-                SecurityContext context = SecurityContextHolder.createEmptyContext();
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities()
-                );
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                context.setAuthentication(authToken);
-                SecurityContextHolder.setContext(context);
+        filterChain.doFilter(request, response);
+    }
+
+    // false only when a bearer token was presented and cannot be used; requests without one
+    // continue unauthenticated and are left to the authorization rules
+    private boolean authenticate(HttpServletRequest request, HttpServletResponse response) {
+        final String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            return true;
+        }
+        if (authHeader.length() > maxHeaderLength || !isCompactJws(authHeader)) {
+            return false;
+        }
+        SecurityContext context = SecurityContextHolder.getContext();
+        if (context.getAuthentication() != null) {
+            return true;
+        }
+        final VerifiedToken token;
+        try {
+            token = jwtService.verifyToken(authHeader.substring(BEARER_PREFIX.length()));
+        } catch (JwtException | IllegalArgumentException e) {
+            return false;
+        }
+        final String userEmail = token.subject();
+        if (userEmail == null || userEmail.isEmpty() || tokenRevocationService.isRevoked(token)) {
+            return false;
+        }
+        Role role = token.role();
+        if (statelessAuthorities && role != null) {
+            if (token.isExpired()) {
+                return false;
             }
+            setAuthentication(context, request, response, token, userEmail, role.getAuthorities());
+            return true;
         }
-        filterChain.doFilter(request, response);
+        final UserDetails userDetails;
+        try {
+            userDetails = userService.userDetailsService().loadUserByUsername(userEmail);
+        } catch (UsernameNotFoundException e) {
+            return false;
+        }
+        if (!jwtService.isTokenValid(token, userDetails)) {
+            return false;
+        }
+        setAuthentication(context, request, response, token, userDetails, userDetails.getAuthorities());
+        return true;
+    }
+
+    private void setAuthentication(SecurityContext context, HttpServletRequest request, HttpServletResponse response,
+                                   VerifiedToken token, Object principal,
+                                   Collection<? extends GrantedAuthority> authorities) {
+        UsernamePasswordAuthenticationToken authToken =
+                UsernamePasswordAuthenticationToken.authenticated(principal, null, authorities);
+        authToken.setDetails(detailsSource.buildDetails(request));
+        // the deferred context is created per request, so it can be filled in place
+        context.setAuthentication(authToken);
+        // async dispatches skip this filter, so the chain has to load the authentication from the request
+        securityContextRepository.saveContext(context, request, response);
+        request.setAttribute(VerifiedToken.REQUEST_ATTRIBUTE, token);
+    }
+
+    private static boolean isCompactJws(String header) {
+        int length = header.length();
+        if (length == BEARER_PREFIX.length()) {
+            return false;
+        }
+        int dots = 0;
+        for (int i = BEARER_PREFIX.length(); i < length; i++) {
+            char c = header.charAt(i);
+            if (c == '.') {
+                dots++;
+            } else if (!((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_')) {
+                return false;
+            }
+        }
+        return dots == 2;
     }
 }
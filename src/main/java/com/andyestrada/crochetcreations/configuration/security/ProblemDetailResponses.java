@@ -0,0 +1,38 @@
+package com.andyestrada.crochetcreations.configuration.security;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+// filters run before MVC, so they write the controller advice's problem+json shape themselves
+final class ProblemDetailResponses {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private ProblemDetailResponses() {
+    }
+
+    static void write(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+                      String detail) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(192);
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(body)) {
+            generator.writeStartObject();
+            generator.writeStringField("type", "about:blank");
+            generator.writeStringField("title", status.getReasonPhrase());
+            generator.writeNumberField("status", status.value());
+            generator.writeStringField("detail", detail);
+            generator.writeStringField("instance", request.getRequestURI());
+            generator.writeEndObject();
+        }
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        response.setContentLength(body.size());
+        body.writeTo(response.getOutputStream());
+    }
+}
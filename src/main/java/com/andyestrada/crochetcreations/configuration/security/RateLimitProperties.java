@@ -0,0 +1,34 @@
+package com.andyestrada.crochetcreations.configuration.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    private int maxEntries = 100_000;
+    private int maxBodyBytes = 4096;
+    private List<Route> routes = new ArrayList<>();
+
+    @Data
+    public static class Route {
+        private String path;
+        private String method = "POST";
+        private Limit ip;
+        private Limit email;
+    }
+
+    @Data
+    public static class Limit {
+        private int capacity;
+        private Duration refillInterval;
+    }
+}
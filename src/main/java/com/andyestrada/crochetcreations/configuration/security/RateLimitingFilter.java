@@ -0,0 +1,151 @@
+package com.andyestrada.crochetcreations.configuration.security;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class RateLimitingFilter extends OncePerRequestFilter {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final boolean enabled;
+    private final int maxBodyBytes;
+    private final List<RouteLimiter> routeLimiters;
+
+    public RateLimitingFilter(RateLimitProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.maxBodyBytes = properties.getMaxBodyBytes();
+        this.routeLimiters = properties.getRoutes().stream()
+                .map(route -> new RouteLimiter(
+                        new AntPathRequestMatcher(route.getPath(), route.getMethod()),
+                        limiter(route.getIp(), properties.getMaxEntries()),
+                        limiter(route.getEmail(), properties.getMaxEntries())))
+                .toList();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || routeLimiters.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RouteLimiter routeLimiter = match(request);
+        if (routeLimiter == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long now = System.nanoTime();
+        if (routeLimiter.ipLimiter() != null) {
+            long waitNanos = routeLimiter.ipLimiter().tryAcquire(request.getRemoteAddr(), now);
+            if (waitNanos > 0) {
+                reject(request, response, waitNanos);
+                return;
+            }
+        }
+        if (routeLimiter.emailLimiter() != null) {
+            CachedBodyHttpServletRequest cachedRequest = cacheBody(request);
+            if (cachedRequest == null) {
+                ProblemDetailResponses.write(request, response, HttpStatus.PAYLOAD_TOO_LARGE,
+                        "The request body exceeds " + maxBodyBytes + " bytes.");
+                return;
+            }
+            request = cachedRequest;
+            String email = extractEmail(cachedRequest.getBody());
+            if (email != null) {
+                long waitNanos = routeLimiter.emailLimiter().tryAcquire(email, now);
+                if (waitNanos > 0) {
+                    reject(request, response, waitNanos);
+                    return;
+                }
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.eviction-interval:PT30S}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        for (RouteLimiter routeLimiter : routeLimiters) {
+            if (routeLimiter.ipLimiter() != null) {
+                routeLimiter.ipLimiter().evictIdle(now);
+            }
+            if (routeLimiter.emailLimiter() != null) {
+                routeLimiter.emailLimiter().evictIdle(now);
+            }
+        }
+    }
+
+    private RouteLimiter match(HttpServletRequest request) {
+        for (RouteLimiter routeLimiter : routeLimiters) {
+            if (routeLimiter.matcher().matches(request)) {
+                return routeLimiter;
+            }
+        }
+        return null;
+    }
+
+    // chunked bodies have no declared length, so the cap is enforced on the bytes actually read
+    private CachedBodyHttpServletRequest cacheBody(HttpServletRequest request) throws IOException {
+        if (request.getContentLengthLong() > maxBodyBytes) {
+            return null;
+        }
+        byte[] body = request.getInputStream().readNBytes(maxBodyBytes + 1);
+        return body.length > maxBodyBytes ? null : new CachedBodyHttpServletRequest(request, body);
+    }
+
+    // the last occurrence wins, as it does when the controller binds the body
+    private static String extractEmail(byte[] body) {
+        String email = null;
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("email".equals(field) && value == JsonToken.VALUE_STRING) {
+                    email = parser.getText().trim().toLowerCase(Locale.ROOT);
+                }
+                parser.skipChildren();
+            }
+        } catch (IOException e) {
+            return null;
+        }
+        return email;
+    }
+
+    private static void reject(HttpServletRequest request, HttpServletResponse response,
+                               long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        ProblemDetailResponses.write(request, response, HttpStatus.TOO_MANY_REQUESTS,
+                "Too many requests, please retry later.");
+    }
+
+    private static TokenBucketRateLimiter limiter(RateLimitProperties.Limit limit, int maxEntries) {
+        return limit == null ? null
+                : new TokenBucketRateLimiter(limit.getCapacity(), limit.getRefillInterval(), maxEntries);
+    }
+
+    private record RouteLimiter(AntPathRequestMatcher matcher, TokenBucketRateLimiter ipLimiter,
+                                TokenBucketRateLimiter emailLimiter) {
+    }
+}
@@ -2,42 +2,76 @@ package com.andyestrada.crochetcreations.configuration.security;
 
 import com.andyestrada.crochetcreations.entities.Role;
 import com.andyestrada.crochetcreations.services.authentication.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import static org.springframework.security.web.util.matcher.AntPathRequestMatcher.antMatcher;
 
 @Configuration
 @EnableWebSecurity
 @RequiredArgsConstructor
 public class SecurityConfiguration {
 
+    static final RequestMatcher PUBLIC_API_ROUTES = new OrRequestMatcher(
+            antMatcher("/api/v1/auth/**"),
+            antMatcher(HttpMethod.GET, "/api/v1/products/**"),
+            antMatcher(HttpMethod.GET, "/api/v1/images/**"),
+            antMatcher(HttpMethod.HEAD, "/api/v1/images/**"));
+
+    // metrics, including /actuator/prometheus, reveal internal auth and pool behaviour and need ADMIN
+    static final RequestMatcher PUBLIC_ACTUATOR_ROUTES = antMatcher("/actuator/health/**");
+
+    static final RequestMatcher PROMETHEUS_ROUTE = antMatcher("/actuator/prometheus");
+
+    static final String SCRAPER_AUTHORITY = "METRICS_SCRAPER";
+
+    static final RequestMatcher PUBLIC_ROUTES = new OrRequestMatcher(PUBLIC_API_ROUTES, PUBLIC_ACTUATOR_ROUTES);
+
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitingFilter rateLimitingFilter;
+    private final ConcurrencyLimitingFilter concurrencyLimitingFilter;
     private final UserService userService;
 
     @Bean
     @Order(1)
-    public SecurityFilterChain apiSecurityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain apiSecurityFilterChain(HttpSecurity http,
+                                                      AuthenticationProvider authenticationProvider) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
-                .authenticationProvider(authenticationProvider())
+                .authenticationProvider(authenticationProvider)
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(rateLimitingFilter, JwtAuthenticationFilter.class)
+                .addFilterBefore(concurrencyLimitingFilter, JwtAuthenticationFilter.class)
                 .sessionManagement(manager -> manager.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .securityMatcher("/api/**")
                 .authorizeHttpRequests(authorize -> authorize
-                        .requestMatchers("/api/v1/auth/**").permitAll()
+                        .requestMatchers(PUBLIC_API_ROUTES).permitAll()
                         .requestMatchers("/api/v1/admin/**").hasAuthority(Role.ADMIN.toString())
                         .requestMatchers("/api/v1/user/**").hasAuthority(Role.USER.toString())
                         .anyRequest().authenticated()
@@ -45,6 +79,30 @@ public class SecurityConfiguration {
         return http.build();
     }
 
+    // these filters run inside the security chains only; without this Boot would also register
+    // them for every servlet request, including the H2 console
+    @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> jwtAuthenticationFilterRegistration() {
+        FilterRegistrationBean<JwtAuthenticationFilter> registration = new FilterRegistrationBean<>(jwtAuthenticationFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitingFilter> rateLimitingFilterRegistration() {
+        FilterRegistrationBean<RateLimitingFilter> registration = new FilterRegistrationBean<>(rateLimitingFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitingFilter> concurrencyLimitingFilterRegistration() {
+        FilterRegistrationBean<ConcurrencyLimitingFilter> registration =
+                new FilterRegistrationBean<>(concurrencyLimitingFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     @Bean
     @Order(2)
     public SecurityFilterChain h2ConsoleSecurityFilterChain(HttpSecurity http) throws Exception {
@@ -57,15 +115,48 @@ public class SecurityConfiguration {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @Order(3)
+    public SecurityFilterChain actuatorSecurityFilterChain(HttpSecurity http,
+                                                           PasswordEncoder passwordEncoder,
+                                                           @Value("${actuator.scraper.username:prometheus}") String scraperUsername,
+                                                           @Value("${actuator.scraper.password:}") String scraperPassword) throws Exception {
+        http
+                .csrf(AbstractHttpConfigurer::disable)
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .sessionManagement(manager -> manager.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .securityMatcher("/actuator/**")
+                .authorizeHttpRequests(authorize -> authorize
+                        .requestMatchers(PUBLIC_ACTUATOR_ROUTES).permitAll()
+                        .requestMatchers(PROMETHEUS_ROUTE).hasAnyAuthority(Role.ADMIN.toString(), SCRAPER_AUTHORITY)
+                        .anyRequest().hasAuthority(Role.ADMIN.toString())
+                );
+        if (!scraperPassword.isEmpty()) {
+            // scrapers hold a static credential, which short-lived access tokens cannot be
+            UserDetails scraper = User.withUsername(scraperUsername)
+                    .password(passwordEncoder.encode(scraperPassword))
+                    .authorities(SCRAPER_AUTHORITY)
+                    .build();
+            DaoAuthenticationProvider scraperProvider = new DaoAuthenticationProvider();
+            scraperProvider.setUserDetailsService(new InMemoryUserDetailsManager(scraper));
+            scraperProvider.setPasswordEncoder(passwordEncoder);
+            http
+                    .authenticationManager(new ProviderManager(scraperProvider))
+                    .httpBasic(Customizer.withDefaults());
+        }
+        return http.build();
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry, Environment environment) {
+        int strength = BCryptStrengthCalibrator.resolveStrength(environment);
+        return new InstrumentedPasswordEncoder(new BCryptPasswordEncoder(strength), meterRegistry);
     }
 
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userService.userDetailsService());
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
         return authProvider;
     }
 
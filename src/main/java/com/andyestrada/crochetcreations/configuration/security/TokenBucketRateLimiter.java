@@ -0,0 +1,48 @@
+package com.andyestrada.crochetcreations.configuration.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+// GCRA: each key's bucket is a single theoretical arrival time, updated with one compare-and-set
+public class TokenBucketRateLimiter {
+
+    private final Cache<String, AtomicLong> buckets;
+    private final long emissionIntervalNanos;
+    private final long burstWindowNanos;
+
+    public TokenBucketRateLimiter(int capacity, Duration refillInterval, int maxEntries) {
+        this.emissionIntervalNanos = refillInterval.toNanos();
+        this.burstWindowNanos = capacity * emissionIntervalNanos;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .build();
+    }
+
+    // 0 if a token was taken, otherwise the nanoseconds until one is available
+    public long tryAcquire(String key, long nowNanos) {
+        AtomicLong arrival = buckets.get(key, k -> new AtomicLong(nowNanos));
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current, nowNanos) + emissionIntervalNanos;
+            long waitNanos = next - nowNanos - burstWindowNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public void evictIdle(long nowNanos) {
+        buckets.asMap().values().removeIf(arrival -> arrival.get() - nowNanos <= 0);
+    }
+
+    public int size() {
+        buckets.cleanUp();
+        return (int) buckets.estimatedSize();
+    }
+}
@@ -0,0 +1,25 @@
+package com.andyestrada.crochetcreations.configuration.web;
+
+import com.andyestrada.crochetcreations.services.audit.AuditEventType;
+import com.andyestrada.crochetcreations.services.audit.AuditService;
+import com.andyestrada.crochetcreations.services.authentication.VerifiedToken;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+@Component
+@RequiredArgsConstructor
+public class AdminAccessAuditInterceptor implements HandlerInterceptor {
+
+    private final AuditService auditService;
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        String principal = request.getAttribute(VerifiedToken.REQUEST_ATTRIBUTE) instanceof VerifiedToken token
+                ? token.subject() : null;
+        auditService.record(AuditEventType.ADMIN_ACCESS, principal,
+                request.getMethod() + " " + request.getRequestURI() + " " + response.getStatus());
+    }
+}
@@ -0,0 +1,18 @@
+package com.andyestrada.crochetcreations.configuration.web;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfiguration implements WebMvcConfigurer {
+
+    private final AdminAccessAuditInterceptor adminAccessAuditInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(adminAccessAuditInterceptor).addPathPatterns("/api/v1/admin/**");
+    }
+}
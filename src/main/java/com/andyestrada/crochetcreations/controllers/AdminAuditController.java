@@ -0,0 +1,45 @@
+package com.andyestrada.crochetcreations.controllers;
+
+import com.andyestrada.crochetcreations.services.audit.AuditEvent;
+import com.andyestrada.crochetcreations.services.audit.AuditEventType;
+import com.andyestrada.crochetcreations.services.audit.AuditService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/admin/audit")
+@RequiredArgsConstructor
+public class AdminAuditController {
+
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    private final AuditService auditService;
+
+    @GetMapping
+    public ResponseEntity<List<AuditEvent>> query(@RequestParam(required = false) Instant from,
+                                                  @RequestParam(required = false) Instant to,
+                                                  @RequestParam(required = false) AuditEventType type,
+                                                  @RequestParam(required = false) String principal,
+                                                  @RequestParam(defaultValue = "100") int limit) throws IOException {
+        return ResponseEntity.ok(auditService.query(from, to, type, principal, limit));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(required = false) Instant from,
+                                                        @RequestParam(required = false) Instant to,
+                                                        @RequestParam(required = false) AuditEventType type,
+                                                        @RequestParam(required = false) String principal) {
+        StreamingResponseBody body = output -> auditService.export(from, to, type, principal, output);
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(APPLICATION_NDJSON)).body(body);
+    }
+}
@@ -1,14 +1,13 @@
 package com.andyestrada.crochetcreations.controllers;
 
-import com.andyestrada.crochetcreations.entities.User;
-import com.andyestrada.crochetcreations.repositories.UserRepository;
-import com.andyestrada.crochetcreations.services.authentication.JwtService;
+import com.andyestrada.crochetcreations.dto.response.CacheStatsResponseDto;
+import com.andyestrada.crochetcreations.services.authentication.UserService;
+import com.andyestrada.crochetcreations.services.authentication.VerifiedToken;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -17,15 +16,22 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class AdminController {
 
-    private final UserRepository userRepository;
-    private final JwtService jwtService;
+    private final UserService userService;
 
     @GetMapping("/home")
-    public ResponseEntity<String> getHome(@RequestHeader(HttpHeaders.AUTHORIZATION) String authHeader) {
-        String username = jwtService.extractUsername(authHeader.substring(7));
-        User user = userRepository.findByEmail(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found."));
-        return ResponseEntity.ok(String.format("Hi admin - %s!", username));
+    public ResponseEntity<String> getHome(@RequestAttribute(VerifiedToken.REQUEST_ATTRIBUTE) VerifiedToken token) {
+        return ResponseEntity.ok(String.format("Hi admin - %s!", token.subject()));
+    }
+
+    @GetMapping("/caches/users")
+    public ResponseEntity<CacheStatsResponseDto> getUserCacheStats() {
+        CacheStats stats = userService.userCacheStats();
+        return ResponseEntity.ok(CacheStatsResponseDto.builder()
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .evictionCount(stats.evictionCount())
+                .hitRate(stats.hitRate())
+                .build());
     }
 
 }
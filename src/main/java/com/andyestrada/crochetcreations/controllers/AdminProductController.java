@@ -0,0 +1,52 @@
+package com.andyestrada.crochetcreations.controllers;
+
+import com.andyestrada.crochetcreations.dto.request.ProductRequestDto;
+import com.andyestrada.crochetcreations.dto.response.ProductDto;
+import com.andyestrada.crochetcreations.dto.response.ProductImageDto;
+import com.andyestrada.crochetcreations.services.catalog.ProductService;
+import com.andyestrada.crochetcreations.services.images.ImageService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/v1/admin/products")
+@RequiredArgsConstructor
+public class AdminProductController {
+
+    private final ProductService productService;
+    private final ImageService imageService;
+
+    @PostMapping
+    public ResponseEntity<ProductDto> createProduct(@RequestBody ProductRequestDto request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(productService.createProduct(request));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<ProductDto> updateProduct(@PathVariable Long id, @RequestBody ProductRequestDto request) {
+        return ResponseEntity.ok(productService.updateProduct(id, request));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteProduct(@PathVariable Long id) {
+        productService.deleteProduct(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping(value = "/{id}/images", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ProductImageDto> uploadImage(@PathVariable Long id,
+                                                       @RequestParam("file") MultipartFile file) throws IOException {
+        return ResponseEntity.status(HttpStatus.CREATED).body(imageService.upload(id, file));
+    }
+
+    @DeleteMapping("/{id}/images/{imageId}")
+    public ResponseEntity<Void> deleteImage(@PathVariable Long id, @PathVariable String imageId) throws IOException {
+        imageService.delete(id, imageId);
+        return ResponseEntity.noContent().build();
+    }
+}
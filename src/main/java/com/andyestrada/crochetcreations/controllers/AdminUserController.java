@@ -0,0 +1,91 @@
+package com.andyestrada.crochetcreations.controllers;
+
+import com.andyestrada.crochetcreations.dto.response.UserImportResultDto;
+import com.andyestrada.crochetcreations.dto.response.UserPageResponseDto;
+import com.andyestrada.crochetcreations.entities.Role;
+import com.andyestrada.crochetcreations.services.users.UserDirectoryService;
+import com.andyestrada.crochetcreations.services.users.UserExportService;
+import com.andyestrada.crochetcreations.services.users.UserImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/v1/admin/users")
+@RequiredArgsConstructor
+public class AdminUserController {
+
+    private static final String TEXT_CSV = "text/csv";
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+    private static final String EXPORT_TIMEOUT_INTERCEPTOR = AdminUserController.class.getName() + ".exportTimeout";
+
+    private final UserImportService userImportService;
+    private final UserDirectoryService userDirectoryService;
+    private final UserExportService userExportService;
+
+    @Value("${users.export.timeout:10m}")
+    private Duration exportTimeout;
+
+    @GetMapping
+    public ResponseEntity<UserPageResponseDto> listUsers(@RequestParam(required = false) Long afterId,
+                                                         @RequestParam(defaultValue = "50") int limit,
+                                                         @RequestParam(required = false) Role role,
+                                                         @RequestParam(required = false) String emailPrefix) {
+        return ResponseEntity.ok(userDirectoryService.listUsers(afterId, limit, role, emailPrefix));
+    }
+
+    @PostMapping(value = "/import", consumes = TEXT_CSV)
+    public ResponseEntity<UserImportResultDto> importCsv(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(userImportService.importUsers(request.getInputStream(), UserImportService.Format.CSV));
+    }
+
+    @PostMapping(value = "/import", consumes = APPLICATION_NDJSON)
+    public ResponseEntity<UserImportResultDto> importNdjson(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(userImportService.importUsers(request.getInputStream(), UserImportService.Format.NDJSON));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "NDJSON") UserExportService.Format format,
+                                                        @RequestParam(defaultValue = "false") boolean gzip,
+                                                        HttpServletRequest request) {
+        // a full export can outlast the default async timeout, so only this endpoint gets a longer one
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(EXPORT_TIMEOUT_INTERCEPTOR,
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void beforeConcurrentHandling(NativeWebRequest webRequest, Callable<T> task) {
+                        ((AsyncWebRequest) webRequest).setTimeout(exportTimeout.toMillis());
+                    }
+                });
+        String filename = format == UserExportService.Format.CSV ? "users.csv" : "users.ndjson";
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format == UserExportService.Format.CSV ? TEXT_CSV : APPLICATION_NDJSON))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString());
+        if (!gzip) {
+            return response.body(output -> userExportService.exportUsers(output, format));
+        }
+        return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(output -> {
+            GZIPOutputStream compressed = new GZIPOutputStream(output, 8192);
+            userExportService.exportUsers(compressed, format);
+            compressed.finish();
+        });
+    }
+}
@@ -1,27 +1,52 @@
 package com.andyestrada.crochetcreations.controllers;
 
+import com.andyestrada.crochetcreations.dto.request.RefreshTokenRequestDto;
 import com.andyestrada.crochetcreations.dto.request.SignInRequestDto;
 import com.andyestrada.crochetcreations.dto.request.SignUpRequestDto;
+import com.andyestrada.crochetcreations.dto.response.EmailAvailabilityResponseDto;
 import com.andyestrada.crochetcreations.dto.response.JwtAuthenticationResponseDto;
+import com.andyestrada.crochetcreations.entities.User;
 import com.andyestrada.crochetcreations.services.authentication.AuthenticationService;
+import com.andyestrada.crochetcreations.services.authentication.PasswordHashingExecutor;
+import com.andyestrada.crochetcreations.services.users.EmailAvailabilityService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/v1/auth")
 @RequiredArgsConstructor
 public class AuthenticationController {
 
     private final AuthenticationService authenticationService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final EmailAvailabilityService emailAvailabilityService;
 
     @PostMapping("/signup")
-    public ResponseEntity<JwtAuthenticationResponseDto> signup(@RequestBody SignUpRequestDto request) {
-        return ResponseEntity.ok(authenticationService.signup(request));
+    public CompletableFuture<ResponseEntity<JwtAuthenticationResponseDto>> signup(@RequestBody SignUpRequestDto request) {
+        return passwordHashingExecutor.submit(() -> authenticationService.signup(request))
+                .thenApply(ResponseEntity::ok);
     }
 
     @PostMapping("/signin")
-    public ResponseEntity<JwtAuthenticationResponseDto> signin(@RequestBody SignInRequestDto request) {
-        return ResponseEntity.ok(authenticationService.signin(request));
+    public CompletableFuture<ResponseEntity<JwtAuthenticationResponseDto>> signin(@RequestBody SignInRequestDto request) {
+        return passwordHashingExecutor.submit(() -> authenticationService.signin(request))
+                .thenApply(ResponseEntity::ok);
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<JwtAuthenticationResponseDto> refresh(@RequestBody RefreshTokenRequestDto request) {
+        return ResponseEntity.ok(authenticationService.refresh(request));
+    }
+
+    @GetMapping("/email-available")
+    public ResponseEntity<EmailAvailabilityResponseDto> isEmailAvailable(@RequestParam String email) {
+        String normalized = User.normalizeEmail(email);
+        return ResponseEntity.ok(EmailAvailabilityResponseDto.builder()
+                .email(normalized)
+                .available(emailAvailabilityService.isAvailable(normalized))
+                .build());
     }
 }
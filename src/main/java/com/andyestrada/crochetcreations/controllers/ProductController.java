@@ -0,0 +1,46 @@
+package com.andyestrada.crochetcreations.controllers;
+
+import com.andyestrada.crochetcreations.dto.response.ProductDto;
+import com.andyestrada.crochetcreations.dto.response.ProductImageDto;
+import com.andyestrada.crochetcreations.dto.response.ProductSearchResponseDto;
+import com.andyestrada.crochetcreations.services.catalog.ProductSearchCriteria;
+import com.andyestrada.crochetcreations.services.catalog.ProductService;
+import com.andyestrada.crochetcreations.services.images.ImageService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/products")
+@RequiredArgsConstructor
+public class ProductController {
+
+    private final ProductService productService;
+    private final ImageService imageService;
+
+    @GetMapping
+    public ResponseEntity<ProductSearchResponseDto> searchProducts(@RequestParam(required = false) String q,
+                                                                   @RequestParam(required = false) String category,
+                                                                   @RequestParam(required = false) BigDecimal minPrice,
+                                                                   @RequestParam(required = false) BigDecimal maxPrice,
+                                                                   @RequestParam(defaultValue = "false") boolean inStock,
+                                                                   @RequestParam(required = false) ProductSearchCriteria.SortOrder sort,
+                                                                   @RequestParam(defaultValue = "0") int page,
+                                                                   @RequestParam(defaultValue = "24") int size) {
+        return ResponseEntity.ok(productService.search(
+                new ProductSearchCriteria(q, category, minPrice, maxPrice, inStock, sort, page, size)));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ProductDto> getProduct(@PathVariable Long id) {
+        return ResponseEntity.ok(productService.getProduct(id));
+    }
+
+    @GetMapping("/{id}/images")
+    public ResponseEntity<List<ProductImageDto>> getProductImages(@PathVariable Long id) {
+        return ResponseEntity.ok(imageService.listImages(id));
+    }
+}
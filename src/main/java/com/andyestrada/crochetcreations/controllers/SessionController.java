@@ -0,0 +1,42 @@
+package com.andyestrada.crochetcreations.controllers;
+
+import com.andyestrada.crochetcreations.dto.request.RefreshTokenRequestDto;
+import com.andyestrada.crochetcreations.services.authentication.AuthenticationService;
+import com.andyestrada.crochetcreations.services.authentication.RefreshTokenService;
+import com.andyestrada.crochetcreations.services.authentication.TokenRevocationService;
+import com.andyestrada.crochetcreations.services.authentication.VerifiedToken;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/session")
+@RequiredArgsConstructor
+public class SessionController {
+
+    private final TokenRevocationService tokenRevocationService;
+    private final RefreshTokenService refreshTokenService;
+    private final AuthenticationService authenticationService;
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestAttribute(VerifiedToken.REQUEST_ATTRIBUTE) VerifiedToken token,
+                                       @RequestBody(required = false) RefreshTokenRequestDto request) {
+        tokenRevocationService.revoke(token);
+        if (request != null && request.getRefreshToken() != null) {
+            refreshTokenService.revoke(request.getRefreshToken());
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/logout-all")
+    public ResponseEntity<Void> logoutAll(@RequestAttribute(VerifiedToken.REQUEST_ATTRIBUTE) VerifiedToken token) {
+        // the stateless authorities mode skips the version check, so the presented token is denied explicitly
+        tokenRevocationService.revoke(token);
+        authenticationService.logoutAll(token);
+        return ResponseEntity.noContent().build();
+    }
+}
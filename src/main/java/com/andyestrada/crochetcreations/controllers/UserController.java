@@ -1,12 +1,13 @@
 package com.andyestrada.crochetcreations.controllers;
 
-import com.andyestrada.crochetcreations.entities.User;
-import com.andyestrada.crochetcreations.repositories.UserRepository;
-import com.andyestrada.crochetcreations.services.authentication.JwtService;
+import com.andyestrada.crochetcreations.dto.request.CartItemRequestDto;
+import com.andyestrada.crochetcreations.dto.response.CartResponseDto;
+import com.andyestrada.crochetcreations.dto.response.ReservationResponseDto;
+import com.andyestrada.crochetcreations.services.authentication.VerifiedToken;
+import com.andyestrada.crochetcreations.services.cart.CartService;
+import com.andyestrada.crochetcreations.services.inventory.InventoryService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -14,14 +15,52 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class UserController {
 
-    private final UserRepository userRepository;
-    private final JwtService jwtService;
+    private final CartService cartService;
+    private final InventoryService inventoryService;
 
     @GetMapping("/cart")
-    public ResponseEntity<String> getUserCart(@RequestHeader(HttpHeaders.AUTHORIZATION) String authHeader) {
-        String username = jwtService.extractUsername(authHeader.substring(7));
-        User user = userRepository.findByEmail(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found."));
-        return ResponseEntity.ok(String.format("Viewing user cart of user - %s.", user.getUsername()));
+    public ResponseEntity<CartResponseDto> getUserCart(@RequestAttribute(VerifiedToken.REQUEST_ATTRIBUTE) VerifiedToken token) {
+        return ResponseEntity.ok(cartService.getCart(token.userId()));
+    }
+
+    @PostMapping("/cart/items")
+    public ResponseEntity<CartResponseDto> addCartItem(@RequestAttribute(VerifiedToken.REQUEST_ATTRIBUTE) VerifiedToken token,
+                                                       @RequestBody CartItemRequestDto request) {
+        return ResponseEntity.ok(cartService.addItem(token.userId(), request.getProductId(), request.getQuantity()));
+    }
+
+    @PutMapping("/cart/items/{productId}")
+    public ResponseEntity<CartResponseDto> updateCartItem(@RequestAttribute(VerifiedToken.REQUEST_ATTRIBUTE) VerifiedToken token,
+                                                          @PathVariable Long productId,
+                                                          @RequestBody CartItemRequestDto request) {
+        return ResponseEntity.ok(cartService.updateItem(token.userId(), productId, request.getQuantity()));
+    }
+
+    @DeleteMapping("/cart/items/{productId}")
+    public ResponseEntity<CartResponseDto> removeCartItem(@RequestAttribute(VerifiedToken.REQUEST_ATTRIBUTE) VerifiedToken token,
+                                                          @PathVariable Long productId) {
+        return ResponseEntity.ok(cartService.removeItem(token.userId(), productId));
+    }
+
+    @DeleteMapping("/cart")
+    public ResponseEntity<CartResponseDto> clearCart(@RequestAttribute(VerifiedToken.REQUEST_ATTRIBUTE) VerifiedToken token) {
+        return ResponseEntity.ok(cartService.clear(token.userId()));
+    }
+
+    @PostMapping("/checkout")
+    public ResponseEntity<ReservationResponseDto> checkout(@RequestAttribute(VerifiedToken.REQUEST_ATTRIBUTE) VerifiedToken token) {
+        return ResponseEntity.ok(inventoryService.reserveCart(token.userId()));
+    }
+
+    @PostMapping("/checkout/{reservationId}/confirm")
+    public ResponseEntity<ReservationResponseDto> confirmCheckout(@RequestAttribute(VerifiedToken.REQUEST_ATTRIBUTE) VerifiedToken token,
+                                                                  @PathVariable String reservationId) {
+        return ResponseEntity.ok(inventoryService.confirm(token.userId(), reservationId));
+    }
+
+    @DeleteMapping("/checkout/{reservationId}")
+    public ResponseEntity<ReservationResponseDto> cancelCheckout(@RequestAttribute(VerifiedToken.REQUEST_ATTRIBUTE) VerifiedToken token,
+                                                                 @PathVariable String reservationId) {
+        return ResponseEntity.ok(inventoryService.release(token.userId(), reservationId));
     }
 }
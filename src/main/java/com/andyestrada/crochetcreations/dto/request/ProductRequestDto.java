@@ -0,0 +1,22 @@
+package com.andyestrada.crochetcreations.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductRequestDto {
+    private String name;
+    private String description;
+    private String category;
+    private BigDecimal price;
+    private int stock;
+    private List<String> tags;
+}
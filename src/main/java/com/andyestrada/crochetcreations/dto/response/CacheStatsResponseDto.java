@@ -0,0 +1,17 @@
+package com.andyestrada.crochetcreations.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsResponseDto {
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private double hitRate;
+}
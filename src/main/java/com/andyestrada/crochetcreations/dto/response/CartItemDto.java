@@ -0,0 +1,15 @@
+package com.andyestrada.crochetcreations.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartItemDto {
+    private Long productId;
+    private int quantity;
+}
@@ -0,0 +1,17 @@
+package com.andyestrada.crochetcreations.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartResponseDto {
+    private List<CartItemDto> items;
+    private int totalQuantity;
+}
@@ -0,0 +1,15 @@
+package com.andyestrada.crochetcreations.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmailAvailabilityResponseDto {
+    private String email;
+    private boolean available;
+}
@@ -0,0 +1,20 @@
+package com.andyestrada.crochetcreations.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImageDto {
+    private String imageId;
+    private Long productId;
+    private String contentType;
+    private long size;
+    private int width;
+    private int height;
+    private String url;
+}
@@ -0,0 +1,18 @@
+package com.andyestrada.crochetcreations.dto.response;
+
+import com.andyestrada.crochetcreations.repositories.projections.UserSummary;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPageResponseDto {
+    private List<UserSummary> users;
+    private Long nextAfterId;
+}
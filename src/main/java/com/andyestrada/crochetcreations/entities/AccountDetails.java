@@ -0,0 +1,9 @@
+package com.andyestrada.crochetcreations.entities;
+
+import org.springframework.security.core.userdetails.UserDetails;
+
+public interface AccountDetails extends UserDetails {
+    Long getId();
+    Role getRole();
+    long getTokenVersion();
+}
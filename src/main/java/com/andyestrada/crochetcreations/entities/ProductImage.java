@@ -0,0 +1,43 @@
+package com.andyestrada.crochetcreations.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "PRODUCT_IMAGES",
+        uniqueConstraints = @UniqueConstraint(name = "UK_PRODUCT_IMAGES_PRODUCT_IMAGE", columnNames = {"productId", "imageId"}),
+        indexes = @Index(name = "IDX_PRODUCT_IMAGES_IMAGE_ID", columnList = "imageId"))
+public class ProductImage {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_images_seq")
+    @SequenceGenerator(name = "product_images_seq", sequenceName = "PRODUCT_IMAGES_SEQ", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long productId;
+
+    @Column(nullable = false)
+    private String imageId;
+
+    @Column(nullable = false)
+    private String contentType;
+
+    @Column(nullable = false)
+    private long size;
+
+    private int width;
+
+    private int height;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
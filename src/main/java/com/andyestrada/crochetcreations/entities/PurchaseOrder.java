@@ -0,0 +1,40 @@
+package com.andyestrada.crochetcreations.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "PURCHASE_ORDERS",
+        uniqueConstraints = @UniqueConstraint(name = "UK_PURCHASE_ORDERS_RESERVATION", columnNames = "reservationId"),
+        indexes = @Index(name = "IDX_PURCHASE_ORDERS_USER_ID", columnList = "userId"))
+public class PurchaseOrder {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "purchase_orders_seq")
+    @SequenceGenerator(name = "purchase_orders_seq", sequenceName = "PURCHASE_ORDERS_SEQ", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private String reservationId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Builder.Default
+    @ElementCollection
+    @CollectionTable(name = "PURCHASE_ORDER_ITEMS", joinColumns = @JoinColumn(name = "order_id"))
+    private List<PurchaseOrderItem> items = new ArrayList<>();
+}
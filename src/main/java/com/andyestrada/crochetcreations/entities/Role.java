@@ -1,6 +1,17 @@
 package com.andyestrada.crochetcreations.entities;
 
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Set;
+
 public enum Role {
     USER,
-    ADMIN
+    ADMIN;
+
+    private final Set<GrantedAuthority> authorities = Set.of(new SimpleGrantedAuthority(name()));
+
+    public Set<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
 }
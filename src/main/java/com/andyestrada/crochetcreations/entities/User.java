@@ -6,12 +6,9 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.UserDetails;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
+import java.util.Locale;
 
 
 @Data
@@ -19,13 +16,16 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "USERS")
-public class User implements UserDetails {
+@Table(name = "USERS",
+        uniqueConstraints = @UniqueConstraint(name = "UK_USERS_EMAIL", columnNames = "email"),
+        indexes = @Index(name = "IDX_USERS_ROLE_ID", columnList = "role, id"))
+public class User implements AccountDetails {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "USERS_SEQ", allocationSize = 50)
     private Long id;
 
-    @Column(unique = true)
+    @Column(nullable = false)
     private String email;
 
     @Enumerated(EnumType.STRING)
@@ -35,6 +35,19 @@ public class User implements UserDetails {
     private String lastName;
     private String password;
 
+    @Column(nullable = false)
+    private long tokenVersion;
+
+    public static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @PrePersist
+    @PreUpdate
+    void normalize() {
+        email = normalizeEmail(email);
+    }
+
     @Override
     public String getUsername() {
         return email;
@@ -42,9 +55,7 @@ public class User implements UserDetails {
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        List<GrantedAuthority> grantedAuthorityList = new ArrayList<>();
-        grantedAuthorityList.add(new SimpleGrantedAuthority(role.toString()));
-        return grantedAuthorityList;
+        return role.getAuthorities();
     }
 
     @Override
@@ -0,0 +1,17 @@
+package com.andyestrada.crochetcreations.repositories;
+
+import com.andyestrada.crochetcreations.entities.CartItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface CartItemRepository extends JpaRepository<CartItem, Long> {
+    List<CartItem> findByUserIdOrderByIdAsc(Long userId);
+
+    @Modifying
+    @Query("delete from CartItem c where c.userId in :userIds")
+    int deleteByUserIds(Collection<Long> userIds);
+}
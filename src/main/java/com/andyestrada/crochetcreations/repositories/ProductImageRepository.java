@@ -0,0 +1,15 @@
+package com.andyestrada.crochetcreations.repositories;
+
+import com.andyestrada.crochetcreations.entities.ProductImage;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ProductImageRepository extends JpaRepository<ProductImage, Long> {
+    List<ProductImage> findByProductIdOrderByIdAsc(Long productId);
+
+    Optional<ProductImage> findByProductIdAndImageId(Long productId, String imageId);
+
+    boolean existsByImageId(String imageId);
+}
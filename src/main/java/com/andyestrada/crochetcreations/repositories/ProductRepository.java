@@ -0,0 +1,29 @@
+package com.andyestrada.crochetcreations.repositories;
+
+import com.andyestrada.crochetcreations.entities.Product;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ProductRepository extends JpaRepository<Product, Long> {
+    @Query("select distinct p from Product p left join fetch p.tags")
+    List<Product> findAllWithTags();
+
+    @Query("select distinct p from Product p left join fetch p.tags where p.id in :ids")
+    List<Product> findAllWithTagsByIdIn(Collection<Long> ids);
+
+    @Query("select p.stock from Product p where p.id = :id")
+    Optional<Integer> findStockById(Long id);
+
+    @Modifying
+    @Query("update Product p set p.stock = p.stock - :quantity where p.id = :id and p.stock >= :quantity")
+    int decrementStock(Long id, int quantity);
+
+    @Modifying
+    @Query("update Product p set p.stock = 0 where p.id = :id")
+    int clearStock(Long id);
+}
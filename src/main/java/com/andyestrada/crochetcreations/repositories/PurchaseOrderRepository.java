@@ -0,0 +1,7 @@
+package com.andyestrada.crochetcreations.repositories;
+
+import com.andyestrada.crochetcreations.entities.PurchaseOrder;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrder, Long> {
+}
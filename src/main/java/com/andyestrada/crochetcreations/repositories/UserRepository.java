@@ -1,10 +1,67 @@
 package com.andyestrada.crochetcreations.repositories;
 
+import com.andyestrada.crochetcreations.entities.Role;
 import com.andyestrada.crochetcreations.entities.User;
+import com.andyestrada.crochetcreations.repositories.projections.AuthUser;
+import com.andyestrada.crochetcreations.repositories.projections.UserSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
+
+    boolean existsByEmail(String email);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select u.email from User u")
+    Stream<String> streamAllEmails();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select u.id as id, u.email as email, u.firstName as firstName, u.lastName as lastName, u.role as role "
+            + "from User u order by u.id")
+    Stream<UserSummary> streamAllSummaries();
+
+    @Query("select new com.andyestrada.crochetcreations.repositories.projections.AuthUser("
+            + "u.id, u.email, u.role, u.password, u.tokenVersion) from User u where u.email = :email")
+    Optional<AuthUser> findAuthUserByEmail(String email);
+
+    @Transactional
+    @Modifying
+    @Query("update User u set u.password = :password where u.id = :id")
+    int updatePassword(Long id, String password);
+
+    @Transactional
+    @Modifying
+    @Query("update User u set u.tokenVersion = u.tokenVersion + 1 where u.id = :id")
+    int incrementTokenVersion(Long id);
+
+    @Query("select u.email from User u where u.email in :emails")
+    Set<String> findExistingEmails(Collection<String> emails);
+
+    List<UserSummary> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    List<UserSummary> findByRoleAndIdGreaterThanOrderByIdAsc(Role role, Long afterId, Pageable pageable);
+
+    // no single index serves both the email prefix range and id order: these scan every email with the
+    // prefix through UK_USERS_EMAIL and sort the matches by id, so short prefixes cost more per page
+    List<UserSummary> findByEmailStartingWithAndIdGreaterThanOrderByIdAsc(String emailPrefix, Long afterId,
+                                                                          Pageable pageable);
+
+    List<UserSummary> findByRoleAndEmailStartingWithAndIdGreaterThanOrderByIdAsc(Role role, String emailPrefix,
+                                                                                 Long afterId, Pageable pageable);
 }
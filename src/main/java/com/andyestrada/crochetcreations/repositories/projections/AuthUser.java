@@ -0,0 +1,66 @@
+package com.andyestrada.crochetcreations.repositories.projections;
+
+import com.andyestrada.crochetcreations.entities.AccountDetails;
+import com.andyestrada.crochetcreations.entities.Role;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+
+public record AuthUser(Long id, String email, Role role, String password, long tokenVersion)
+        implements AccountDetails {
+
+    @Override
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public Role getRole() {
+        return role;
+    }
+
+    @Override
+    public long getTokenVersion() {
+        return tokenVersion;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return role.getAuthorities();
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "AuthUser[id=" + id + ", email=" + email + ", role=" + role + "]";
+    }
+}
@@ -0,0 +1,11 @@
+package com.andyestrada.crochetcreations.repositories.projections;
+
+import com.andyestrada.crochetcreations.entities.Role;
+
+public interface UserSummary {
+    Long getId();
+    String getEmail();
+    String getFirstName();
+    String getLastName();
+    Role getRole();
+}
@@ -0,0 +1,8 @@
+package com.andyestrada.crochetcreations.services.audit;
+
+public record AuditEvent(long timestamp,
+                         AuditEventType type,
+                         String principal,
+                         String remoteAddress,
+                         String detail) {
+}
@@ -0,0 +1,9 @@
+package com.andyestrada.crochetcreations.services.audit;
+
+public enum AuditEventType {
+    SIGNUP_SUCCESS,
+    SIGNUP_FAILURE,
+    SIGNIN_SUCCESS,
+    SIGNIN_FAILURE,
+    ADMIN_ACCESS
+}
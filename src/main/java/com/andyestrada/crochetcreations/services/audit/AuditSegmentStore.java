@@ -0,0 +1,230 @@
+package com.andyestrada.crochetcreations.services.audit;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// memory-mapped, append-only segments of newline-terminated records, written by a single thread
+public class AuditSegmentStore implements Closeable {
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("audit-(\\d{13})-(\\d{4})\\.ndjson");
+    private static final byte RECORD_SEPARATOR = '\n';
+    private static final int READ_CHUNK_SIZE = 64 * 1024;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long rotationMillis;
+    private FileChannel channel;
+    private MappedByteBuffer mapped;
+    private long segmentStartedAt;
+    private int sequence;
+    private boolean dirty;
+    private volatile Path currentSegment;
+
+    public AuditSegmentStore(Path directory, int segmentSize, long rotationMillis) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.segmentSize = segmentSize;
+        this.rotationMillis = rotationMillis;
+    }
+
+    public boolean append(byte[] record, long now) throws IOException {
+        if (record.length + 1 > segmentSize) {
+            return false;
+        }
+        if (mapped == null || mapped.remaining() < record.length + 1 || now - segmentStartedAt >= rotationMillis) {
+            rotate(now);
+        }
+        mapped.put(record);
+        mapped.put(RECORD_SEPARATOR);
+        dirty = true;
+        return true;
+    }
+
+    public void force() {
+        if (mapped != null && dirty) {
+            mapped.force();
+            dirty = false;
+        }
+    }
+
+    public int deleteOlderThan(long cutoffMillis) throws IOException {
+        List<Segment> segments = segments();
+        int deleted = 0;
+        // a segment may hold records up to the start of the next one, so only those followed by a
+        // segment that itself started before the cutoff are entirely expired
+        for (int i = 0; i + 1 < segments.size(); i++) {
+            Segment segment = segments.get(i);
+            if (segments.get(i + 1).startedAt() < cutoffMillis && !segment.path().equals(currentSegment)
+                    && Files.deleteIfExists(segment.path())) {
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    // stops as soon as the reader returns false
+    public void read(long from, long to, boolean newestFirst, Predicate<byte[]> reader) throws IOException {
+        List<Segment> segments = segments();
+        List<Segment> overlapping = new ArrayList<>();
+        for (int i = 0; i < segments.size(); i++) {
+            long start = segments.get(i).startedAt();
+            long end = i + 1 < segments.size() ? segments.get(i + 1).startedAt() : Long.MAX_VALUE;
+            if (start <= to && end >= from) {
+                overlapping.add(segments.get(i));
+            }
+        }
+        if (newestFirst) {
+            for (int i = overlapping.size() - 1; i >= 0; i--) {
+                if (!readSegmentBackwards(overlapping.get(i).path(), reader)) {
+                    return;
+                }
+            }
+        } else {
+            for (Segment segment : overlapping) {
+                if (!readSegment(segment.path(), reader)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (mapped != null) {
+            force();
+            int written = mapped.position();
+            mapped = null;
+            channel.truncate(written);
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private void rotate(long now) throws IOException {
+        close();
+        sequence = (sequence + 1) % 10_000;
+        Path path = directory.resolve(String.format("audit-%013d-%04d.ndjson", now, sequence));
+        channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        segmentStartedAt = now;
+        currentSegment = path;
+    }
+
+    private List<Segment> segments() throws IOException {
+        List<Segment> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(path -> {
+                Matcher matcher = SEGMENT_NAME.matcher(path.getFileName().toString());
+                if (matcher.matches()) {
+                    segments.add(new Segment(path, Long.parseLong(matcher.group(1))));
+                }
+            });
+        }
+        segments.sort(Comparator.comparing((Segment segment) -> segment.path().getFileName().toString()));
+        return segments;
+    }
+
+    private static boolean readSegment(Path path, Predicate<byte[]> reader) throws IOException {
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(path), READ_CHUNK_SIZE)) {
+            ByteArrayOutputStream record = new ByteArrayOutputStream(256);
+            int next;
+            while ((next = input.read()) > 0) {
+                if (next == RECORD_SEPARATOR) {
+                    if (!reader.test(record.toByteArray())) {
+                        return false;
+                    }
+                    record.reset();
+                } else {
+                    record.write(next);
+                }
+            }
+            // anything after the last separator is a record still being written
+        } catch (NoSuchFileException e) {
+            // removed by retention while being read
+        }
+        return true;
+    }
+
+    private static boolean readSegmentBackwards(Path path, Predicate<byte[]> reader) throws IOException {
+        try (FileChannel segment = FileChannel.open(path, StandardOpenOption.READ)) {
+            long position = dataEnd(segment);
+            ByteBuffer chunk = ByteBuffer.allocate(READ_CHUNK_SIZE);
+            // bytes after the last separator are a record still being written and are skipped
+            boolean complete = false;
+            byte[] carry = new byte[0];
+            while (position > 0) {
+                int length = (int) Math.min(READ_CHUNK_SIZE, position);
+                position -= length;
+                chunk.clear().limit(length);
+                readFully(segment, chunk, position);
+                byte[] bytes = chunk.array();
+                int recordEnd = length;
+                for (int i = length - 1; i >= 0; i--) {
+                    if (bytes[i] != RECORD_SEPARATOR) {
+                        continue;
+                    }
+                    if (complete && !emit(bytes, i + 1, recordEnd, carry, reader)) {
+                        return false;
+                    }
+                    complete = true;
+                    carry = new byte[0];
+                    recordEnd = i;
+                }
+                carry = concat(bytes, 0, recordEnd, carry);
+            }
+            return !complete || emit(carry, 0, carry.length, new byte[0], reader);
+        } catch (NoSuchFileException e) {
+            return true;
+        }
+    }
+
+    // records never contain a zero byte, so the written data is the prefix before the first one
+    private static long dataEnd(FileChannel segment) throws IOException {
+        long low = 0;
+        long high = segment.size();
+        ByteBuffer single = ByteBuffer.allocate(1);
+        while (low < high) {
+            long middle = (low + high) >>> 1;
+            single.clear();
+            if (segment.read(single, middle) <= 0 || single.get(0) == 0) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Audit segment ended before " + (position + buffer.limit()));
+            }
+        }
+    }
+
+    private static boolean emit(byte[] bytes, int from, int to, byte[] carry, Predicate<byte[]> reader) {
+        byte[] record = concat(bytes, from, to, carry);
+        return record.length == 0 || reader.test(record);
+    }
+
+    private static byte[] concat(byte[] bytes, int from, int to, byte[] tail) {
+        byte[] joined = new byte[to - from + tail.length];
+        System.arraycopy(bytes, from, joined, 0, to - from);
+        System.arraycopy(tail, 0, joined, to - from, tail.length);
+        return joined;
+    }
+
+    private record Segment(Path path, long startedAt) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.andyestrada.crochetcreations.services.audit;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.List;
+
+public interface AuditService {
+    void record(AuditEventType type, String principal, String detail);
+    List<AuditEvent> query(Instant from, Instant to, AuditEventType type, String principal, int limit) throws IOException;
+    void export(Instant from, Instant to, AuditEventType type, String principal, OutputStream output) throws IOException;
+}
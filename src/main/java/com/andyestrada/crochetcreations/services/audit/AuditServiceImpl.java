@@ -0,0 +1,235 @@
+package com.andyestrada.crochetcreations.services.audit;
+
+import com.andyestrada.crochetcreations.utils.MpscRingBuffer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Predicate;
+
+@Slf4j
+@Service
+public class AuditServiceImpl implements AuditService {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final int DRAIN_BATCH_SIZE = 512;
+
+    private final boolean enabled;
+    private final ObjectMapper objectMapper;
+    private final MpscRingBuffer<AuditEvent> buffer;
+    private final AuditSegmentStore segmentStore;
+    private final Duration retention;
+    private final long flushIntervalNanos;
+    private final int maxQueryResults;
+    private final Duration defaultQueryWindow;
+    private final Counter enqueued;
+    private final Counter dropped;
+    private final Counter written;
+    private final Counter writeErrors;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public AuditServiceImpl(ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${audit.enabled:true}") boolean enabled,
+                            @Value("${audit.directory}") Path directory,
+                            @Value("${audit.buffer-capacity:8192}") int bufferCapacity,
+                            @Value("${audit.segment-size:16MB}") DataSize segmentSize,
+                            @Value("${audit.rotation-interval:PT1H}") Duration rotationInterval,
+                            @Value("${audit.retention:30d}") Duration retention,
+                            @Value("${audit.flush-interval:PT1S}") Duration flushInterval,
+                            @Value("${audit.query.max-results:1000}") int maxQueryResults,
+                            @Value("${audit.query.default-window:24h}") Duration defaultQueryWindow) throws IOException {
+        this.enabled = enabled;
+        this.objectMapper = objectMapper;
+        this.buffer = new MpscRingBuffer<>(bufferCapacity);
+        this.segmentStore = new AuditSegmentStore(directory, Math.toIntExact(segmentSize.toBytes()),
+                rotationInterval.toMillis());
+        this.retention = retention;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.maxQueryResults = maxQueryResults;
+        this.defaultQueryWindow = defaultQueryWindow;
+        this.enqueued = eventCounter(meterRegistry, "enqueued");
+        this.dropped = eventCounter(meterRegistry, "dropped");
+        this.written = Counter.builder("audit.events.written")
+                .description("Audit events appended to the log")
+                .register(meterRegistry);
+        this.writeErrors = Counter.builder("audit.write.errors")
+                .description("Audit events that could not be appended to the log")
+                .register(meterRegistry);
+        Gauge.builder("audit.buffer.size", buffer, MpscRingBuffer::size)
+                .description("Audit events waiting to be written")
+                .register(meterRegistry);
+        this.writer = new Thread(this::writeLoop, "audit-writer");
+        this.writer.setDaemon(true);
+        if (enabled) {
+            this.writer.start();
+        }
+    }
+
+    @Override
+    public void record(AuditEventType type, String principal, String detail) {
+        if (!enabled) {
+            return;
+        }
+        AuditEvent event = new AuditEvent(System.currentTimeMillis(), type, principal, remoteAddress(), detail);
+        // producers never wait on the writer; a full buffer means the event is dropped and counted
+        if (buffer.offer(event)) {
+            enqueued.increment();
+        } else {
+            dropped.increment();
+        }
+    }
+
+    @Override
+    public List<AuditEvent> query(Instant from, Instant to, AuditEventType type, String principal, int limit)
+            throws IOException {
+        int max = Math.max(1, Math.min(limit, maxQueryResults));
+        List<AuditEvent> events = new ArrayList<>();
+        try {
+            read(from, to, type, principal, true, event -> {
+                events.add(event);
+                return events.size() < max;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return events;
+    }
+
+    @Override
+    public void export(Instant from, Instant to, AuditEventType type, String principal, OutputStream output)
+            throws IOException {
+        try {
+            read(from, to, type, principal, false, event -> {
+                try {
+                    // writeValue(OutputStream) would close the response after the first event
+                    output.write(objectMapper.writeValueAsBytes(event));
+                    output.write('\n');
+                    return true;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${audit.retention-check-interval:PT1H}")
+    public void deleteExpiredSegments() {
+        try {
+            int deleted = segmentStore.deleteOlderThan(System.currentTimeMillis() - retention.toMillis());
+            if (deleted > 0) {
+                log.info("Deleted {} expired audit segments", deleted);
+            }
+        } catch (IOException e) {
+            log.warn("Could not delete expired audit segments", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private void writeLoop() {
+        long lastForce = System.nanoTime();
+        try {
+            while (running || buffer.size() > 0) {
+                int drained = drain();
+                long now = System.nanoTime();
+                if (now - lastForce >= flushIntervalNanos) {
+                    segmentStore.force();
+                    lastForce = now;
+                }
+                if (drained == 0 && running) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+        } finally {
+            try {
+                segmentStore.close();
+            } catch (IOException e) {
+                log.warn("Could not close the audit segment", e);
+            }
+        }
+    }
+
+    private int drain() {
+        int drained = 0;
+        for (AuditEvent event = buffer.poll(); event != null; event = buffer.poll()) {
+            try {
+                if (segmentStore.append(objectMapper.writeValueAsBytes(event), event.timestamp())) {
+                    written.increment();
+                } else {
+                    writeErrors.increment();
+                }
+            } catch (IOException | RuntimeException e) {
+                writeErrors.increment();
+                log.warn("Could not append an audit event", e);
+            }
+            if (++drained == DRAIN_BATCH_SIZE) {
+                break;
+            }
+        }
+        return drained;
+    }
+
+    private void read(Instant from, Instant to, AuditEventType type, String principal, boolean newestFirst,
+                      Predicate<AuditEvent> consumer) throws IOException {
+        long toMillis = to != null ? to.toEpochMilli() : Long.MAX_VALUE;
+        // without an explicit start only the most recent window is scanned, not the whole retention
+        long fromMillis = from != null ? from.toEpochMilli()
+                : Math.min(toMillis, System.currentTimeMillis()) - defaultQueryWindow.toMillis();
+        segmentStore.read(fromMillis, toMillis, newestFirst, record -> {
+            AuditEvent event;
+            try {
+                event = objectMapper.readValue(record, AuditEvent.class);
+            } catch (IOException e) {
+                return true;
+            }
+            if (event.timestamp() >= fromMillis && event.timestamp() <= toMillis
+                    && (type == null || type == event.type())
+                    && (principal == null || principal.equalsIgnoreCase(event.principal()))) {
+                return consumer.test(event);
+            }
+            return true;
+        });
+    }
+
+    private static String remoteAddress() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return attributes.getRequest().getRemoteAddr();
+        }
+        return null;
+    }
+
+    private static Counter eventCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("audit.events")
+                .description("Audit events offered to the writer by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
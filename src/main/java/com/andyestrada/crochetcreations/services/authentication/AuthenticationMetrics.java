@@ -0,0 +1,48 @@
+package com.andyestrada.crochetcreations.services.authentication;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class AuthenticationMetrics {
+
+    public enum Outcome {
+        SUCCESS,
+        BAD_CREDENTIALS,
+        DUPLICATE_EMAIL,
+        ERROR
+    }
+
+    private final Map<Outcome, Timer> signupTimers;
+    private final Map<Outcome, Timer> signinTimers;
+
+    public AuthenticationMetrics(MeterRegistry meterRegistry) {
+        this.signupTimers = timers(meterRegistry, "auth.signup", "Signup requests by outcome");
+        this.signinTimers = timers(meterRegistry, "auth.signin", "Signin requests by outcome");
+    }
+
+    public void recordSignup(Outcome outcome, long startNanos) {
+        signupTimers.get(outcome).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordSignin(Outcome outcome, long startNanos) {
+        signinTimers.get(outcome).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static Map<Outcome, Timer> timers(MeterRegistry meterRegistry, String name, String description) {
+        Map<Outcome, Timer> timers = new EnumMap<>(Outcome.class);
+        for (Outcome outcome : Outcome.values()) {
+            timers.put(outcome, Timer.builder(name)
+                    .description(description)
+                    .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        return timers;
+    }
+}
@@ -1,5 +1,6 @@
 package com.andyestrada.crochetcreations.services.authentication;
 
+import com.andyestrada.crochetcreations.dto.request.RefreshTokenRequestDto;
 import com.andyestrada.crochetcreations.dto.request.SignInRequestDto;
 import com.andyestrada.crochetcreations.dto.request.SignUpRequestDto;
 import com.andyestrada.crochetcreations.dto.response.JwtAuthenticationResponseDto;
@@ -7,4 +8,6 @@ import com.andyestrada.crochetcreations.dto.response.JwtAuthenticationResponseDt
 public interface AuthenticationService {
     JwtAuthenticationResponseDto signup(SignUpRequestDto request);
     JwtAuthenticationResponseDto signin(SignInRequestDto request);
+    JwtAuthenticationResponseDto refresh(RefreshTokenRequestDto request);
+    void logoutAll(VerifiedToken token);
 }
@@ -1,14 +1,22 @@
 package com.andyestrada.crochetcreations.services.authentication;
 
+import com.andyestrada.crochetcreations.dto.request.RefreshTokenRequestDto;
 import com.andyestrada.crochetcreations.dto.request.SignInRequestDto;
 import com.andyestrada.crochetcreations.dto.request.SignUpRequestDto;
 import com.andyestrada.crochetcreations.dto.response.JwtAuthenticationResponseDto;
+import com.andyestrada.crochetcreations.entities.AccountDetails;
 import com.andyestrada.crochetcreations.entities.Role;
 import com.andyestrada.crochetcreations.entities.User;
 import com.andyestrada.crochetcreations.repositories.UserRepository;
+import com.andyestrada.crochetcreations.services.audit.AuditEventType;
+import com.andyestrada.crochetcreations.services.audit.AuditService;
+import com.andyestrada.crochetcreations.services.users.EmailAlreadyRegisteredException;
+import com.andyestrada.crochetcreations.services.users.EmailAvailabilityService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -20,29 +28,92 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
+    private final UserService userService;
+    private final RefreshTokenService refreshTokenService;
     private final AuthenticationManager authenticationManager;
+    private final AuthenticationMetrics authenticationMetrics;
+    private final EmailAvailabilityService emailAvailabilityService;
+    private final AuditService auditService;
 
     @Override
     public JwtAuthenticationResponseDto signup(SignUpRequestDto request) {
-        var user = User.builder()
-                .firstName(request.getFirstName())
-                .lastName(request.getLastName())
-                .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
-                .role(Role.USER)
-                .build();
-        userRepository.save(user);
-        var jwt = jwtService.generateToken(user);
-        return JwtAuthenticationResponseDto.builder().token(jwt).build();
+        long start = System.nanoTime();
+        var outcome = AuthenticationMetrics.Outcome.ERROR;
+        var email = User.normalizeEmail(request.getEmail());
+        try {
+            if (!emailAvailabilityService.isAvailable(email)) {
+                throw new EmailAlreadyRegisteredException(email);
+            }
+            var user = User.builder()
+                    .firstName(request.getFirstName())
+                    .lastName(request.getLastName())
+                    .email(email)
+                    .password(passwordEncoder.encode(request.getPassword()))
+                    .role(Role.USER)
+                    .build();
+            try {
+                userRepository.save(user);
+            } catch (DataIntegrityViolationException e) {
+                throw new EmailAlreadyRegisteredException(email);
+            }
+            emailAvailabilityService.registered(email);
+            userService.evictUser(email);
+            var jwt = jwtService.generateToken(user);
+            var refreshToken = refreshTokenService.issue(user);
+            outcome = AuthenticationMetrics.Outcome.SUCCESS;
+            return JwtAuthenticationResponseDto.builder().token(jwt).refreshToken(refreshToken).build();
+        } catch (EmailAlreadyRegisteredException e) {
+            outcome = AuthenticationMetrics.Outcome.DUPLICATE_EMAIL;
+            throw e;
+        } finally {
+            authenticationMetrics.recordSignup(outcome, start);
+            auditService.record(outcome == AuthenticationMetrics.Outcome.SUCCESS
+                    ? AuditEventType.SIGNUP_SUCCESS : AuditEventType.SIGNUP_FAILURE, email, outcome.name());
+        }
     }
 
     @Override
     public JwtAuthenticationResponseDto signin(SignInRequestDto request) {
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword()));
-        var user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new UsernameNotFoundException("Invalid email or password"));
-        var jwt = jwtService.generateToken(user);
-        return JwtAuthenticationResponseDto.builder().token(jwt).build();
+        long start = System.nanoTime();
+        var outcome = AuthenticationMetrics.Outcome.ERROR;
+        try {
+            var authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword()));
+            var user = (AccountDetails) authentication.getPrincipal();
+            if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+                userRepository.updatePassword(user.getId(), passwordEncoder.encode(request.getPassword()));
+                userService.evictUser(user.getUsername());
+            }
+            var jwt = jwtService.generateToken(user);
+            var refreshToken = refreshTokenService.issue(user);
+            outcome = AuthenticationMetrics.Outcome.SUCCESS;
+            return JwtAuthenticationResponseDto.builder().token(jwt).refreshToken(refreshToken).build();
+        } catch (AuthenticationException e) {
+            outcome = AuthenticationMetrics.Outcome.BAD_CREDENTIALS;
+            throw e;
+        } finally {
+            authenticationMetrics.recordSignin(outcome, start);
+            auditService.record(outcome == AuthenticationMetrics.Outcome.SUCCESS
+                    ? AuditEventType.SIGNIN_SUCCESS : AuditEventType.SIGNIN_FAILURE,
+                    User.normalizeEmail(request.getEmail()), outcome.name());
+        }
+    }
+
+    @Override
+    public JwtAuthenticationResponseDto refresh(RefreshTokenRequestDto request) {
+        var rotated = refreshTokenService.rotate(request.getRefreshToken());
+        var jwt = jwtService.generateToken(rotated.user());
+        return JwtAuthenticationResponseDto.builder().token(jwt).refreshToken(rotated.refreshToken()).build();
+    }
+
+    @Override
+    public void logoutAll(VerifiedToken token) {
+        Long userId = token.userId() != null ? token.userId() : userRepository.findAuthUserByEmail(token.subject())
+                .map(AccountDetails::getId)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        // bumping the version invalidates every access token issued so far on the next lookup
+        userRepository.incrementTokenVersion(userId);
+        refreshTokenService.revokeAll(userId);
+        userService.evictUser(token.subject());
     }
 }
@@ -6,4 +6,6 @@ public interface JwtService {
     String extractUsername(String token);
     String generateToken(UserDetails userDetails);
     boolean isTokenValid(String token, UserDetails userDetails);
+    VerifiedToken verifyToken(String token);
+    boolean isTokenValid(VerifiedToken token, UserDetails userDetails);
 }
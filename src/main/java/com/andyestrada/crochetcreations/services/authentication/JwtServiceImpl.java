@@ -1,75 +1,117 @@
 package com.andyestrada.crochetcreations.services.authentication;
 
+import com.andyestrada.crochetcreations.entities.AccountDetails;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class JwtServiceImpl implements JwtService {
 
-    @Value("${token.signing.key}")
-    private String jwtSigningKey;
+    private final Key signingKey;
+    private final JwtParser jwtParser;
+    private final long expirationMillis;
+    private final Timer generateTimer;
+    private final Timer verifiedTimer;
+    private final Timer rejectedTimer;
+
+    public JwtServiceImpl(@Value("${token.signing.key}") String jwtSigningKey,
+                          @Value("${token.access.expiration:24m}") Duration expiration,
+                          MeterRegistry meterRegistry) {
+        this.expirationMillis = expiration.toMillis();
+        this.generateTimer = Timer.builder("auth.token.generate")
+                .description("Time spent signing access tokens")
+                .register(meterRegistry);
+        this.verifiedTimer = verifyTimer(meterRegistry, "valid");
+        this.rejectedTimer = verifyTimer(meterRegistry, "invalid");
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSigningKey));
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
 
     @Override
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verifyToken(token).subject();
     }
 
     @Override
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+        Map<String, Object> claims = new HashMap<>();
+        if (userDetails instanceof AccountDetails account) {
+            claims.put(VerifiedToken.CLAIM_USER_ID, account.getId());
+            claims.put(VerifiedToken.CLAIM_ROLE, account.getRole().name());
+            claims.put(VerifiedToken.CLAIM_TOKEN_VERSION, account.getTokenVersion());
+        }
+        return generateTimer.record(() -> generateToken(claims, userDetails));
     }
 
     @Override
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return isTokenValid(verifyToken(token), userDetails);
+    }
+
+    @Override
+    public VerifiedToken verifyToken(String token) {
+        long start = System.nanoTime();
+        try {
+            final Claims claims = extractAllClaims(token);
+            verifiedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return new VerifiedToken(claims.getSubject(), claims.getExpiration(), claims);
+        } catch (JwtException | IllegalArgumentException e) {
+            rejectedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
     }
 
-    private <R> R extractClaim(String token, Function<Claims, R> claimResolvers) {
-        final Claims claims = extractAllClaims(token);
-        return claimResolvers.apply(claims);
+    @Override
+    public boolean isTokenValid(VerifiedToken token, UserDetails userDetails) {
+        if (userDetails instanceof AccountDetails account
+                && token.tokenVersion() != null
+                && token.tokenVersion() != account.getTokenVersion()) {
+            return false;
+        }
+        return (token.subject().equals(userDetails.getUsername()) && !token.isExpired());
     }
 
     private String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
         return Jwts.builder()
                 .setClaims(extraClaims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 24))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .setExpiration(new Date(System.currentTimeMillis() + expirationMillis))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private static Timer verifyTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("auth.token.verify")
+                .description("Time spent parsing and verifying access tokens")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
+        return jwtParser
                 .parseClaimsJws(token)
                 .getBody();
     }
-
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSigningKey);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
 }
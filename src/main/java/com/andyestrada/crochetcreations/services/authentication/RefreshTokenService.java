@@ -0,0 +1,14 @@
+package com.andyestrada.crochetcreations.services.authentication;
+
+import com.andyestrada.crochetcreations.entities.AccountDetails;
+import com.andyestrada.crochetcreations.entities.User;
+
+public interface RefreshTokenService {
+    String issue(AccountDetails user);
+    RotatedRefreshToken rotate(String refreshToken);
+    void revoke(String refreshToken);
+    void revokeAll(Long userId);
+
+    record RotatedRefreshToken(User user, String refreshToken) {
+    }
+}
@@ -0,0 +1,114 @@
+package com.andyestrada.crochetcreations.services.authentication;
+
+import com.andyestrada.crochetcreations.entities.AccountDetails;
+import com.andyestrada.crochetcreations.entities.RefreshToken;
+import com.andyestrada.crochetcreations.entities.User;
+import com.andyestrada.crochetcreations.repositories.RefreshTokenRepository;
+import com.andyestrada.crochetcreations.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+@Service
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final Duration expiration;
+    private final Duration maxLifetime;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public RefreshTokenServiceImpl(RefreshTokenRepository refreshTokenRepository,
+                                   UserRepository userRepository,
+                                   @Value("${token.refresh.expiration:7d}") Duration expiration,
+                                   @Value("${token.refresh.max-lifetime:30d}") Duration maxLifetime) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.expiration = expiration;
+        this.maxLifetime = maxLifetime;
+    }
+
+    @Override
+    @Transactional
+    public String issue(AccountDetails user) {
+        Instant now = Instant.now();
+        return save(userRepository.getReferenceById(user.getId()), UUID.randomUUID().toString(), now.plus(maxLifetime), now);
+    }
+
+    @Override
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public RotatedRefreshToken rotate(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            throw new BadCredentialsException("Missing refresh token");
+        }
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+        Instant now = Instant.now();
+        if (current.isRevoked() || refreshTokenRepository.markRevoked(current.getId()) == 0) {
+            refreshTokenRepository.revokeFamily(current.getFamilyId());
+            throw new BadCredentialsException("Refresh token reuse detected");
+        }
+        if (current.getExpiresAt().isBefore(now)) {
+            throw new BadCredentialsException("Refresh token expired");
+        }
+        String rotated = save(current.getUser(), current.getFamilyId(), current.getFamilyExpiresAt(), now);
+        return new RotatedRefreshToken(current.getUser(), rotated);
+    }
+
+    @Override
+    @Transactional
+    public void revoke(String refreshToken) {
+        refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId()));
+    }
+
+    @Override
+    @Transactional
+    public void revokeAll(Long userId) {
+        refreshTokenRepository.revokeAllForUser(userId);
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${token.refresh.cleanup-interval:PT1H}")
+    public void deleteExpired() {
+        refreshTokenRepository.deleteExpired(Instant.now());
+    }
+
+    private String save(User user, String familyId, Instant familyExpiresAt, Instant now) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        Instant expiresAt = now.plus(expiration);
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(token))
+                .familyId(familyId)
+                .user(user)
+                .expiresAt(expiresAt.isBefore(familyExpiresAt) ? expiresAt : familyExpiresAt)
+                .familyExpiresAt(familyExpiresAt)
+                .build());
+        return token;
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
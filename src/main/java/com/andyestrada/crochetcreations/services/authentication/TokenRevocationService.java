@@ -0,0 +1,7 @@
+package com.andyestrada.crochetcreations.services.authentication;
+
+public interface TokenRevocationService {
+    void revoke(VerifiedToken token);
+    boolean isRevoked(VerifiedToken token);
+    int revokedCount();
+}
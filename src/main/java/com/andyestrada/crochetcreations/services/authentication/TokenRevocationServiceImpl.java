@@ -0,0 +1,67 @@
+package com.andyestrada.crochetcreations.services.authentication;
+
+import com.andyestrada.crochetcreations.utils.BloomFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+
+    private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    private final int minimumCapacity;
+    private volatile BloomFilter revokedFilter;
+    private long filterCapacity;
+
+    public TokenRevocationServiceImpl(@Value("${token.revocation.minimum-capacity:1024}") int minimumCapacity) {
+        this.minimumCapacity = minimumCapacity;
+        this.filterCapacity = minimumCapacity;
+        this.revokedFilter = new BloomFilter(filterCapacity, FALSE_POSITIVE_PROBABILITY);
+    }
+
+    @Override
+    public synchronized void revoke(VerifiedToken token) {
+        if (token.tokenId() == null || token.isExpired()) {
+            return;
+        }
+        if (revokedTokens.put(token.tokenId(), token.expiration().getTime()) == null
+                && revokedTokens.size() > filterCapacity) {
+            rebuildFilter();
+        } else {
+            revokedFilter.put(token.tokenId());
+        }
+    }
+
+    @Override
+    public boolean isRevoked(VerifiedToken token) {
+        String tokenId = token.tokenId();
+        return tokenId != null
+                && revokedFilter.mightContain(tokenId)
+                && revokedTokens.containsKey(tokenId);
+    }
+
+    @Override
+    public int revokedCount() {
+        return revokedTokens.size();
+    }
+
+    @Scheduled(fixedDelayString = "${token.revocation.prune-interval:PT1M}")
+    public synchronized void pruneExpired() {
+        long now = System.currentTimeMillis();
+        if (revokedTokens.values().removeIf(expiresAt -> expiresAt < now)) {
+            rebuildFilter();
+        }
+    }
+
+    private void rebuildFilter() {
+        filterCapacity = Math.max(minimumCapacity, revokedTokens.size() * 2L);
+        BloomFilter filter = new BloomFilter(filterCapacity, FALSE_POSITIVE_PROBABILITY);
+        revokedTokens.keySet().forEach(filter::put);
+        revokedFilter = filter;
+    }
+}
@@ -1,7 +1,10 @@
 package com.andyestrada.crochetcreations.services.authentication;
 
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import org.springframework.security.core.userdetails.UserDetailsService;
 
 public interface UserService {
     UserDetailsService userDetailsService();
+    void evictUser(String email);
+    CacheStats userCacheStats();
 }
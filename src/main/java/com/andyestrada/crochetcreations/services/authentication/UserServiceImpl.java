@@ -1,21 +1,109 @@
 package com.andyestrada.crochetcreations.services.authentication;
 
+import com.andyestrada.crochetcreations.entities.User;
 import com.andyestrada.crochetcreations.repositories.UserRepository;
-import lombok.RequiredArgsConstructor;
+import com.andyestrada.crochetcreations.repositories.projections.AuthUser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 
 @Service
-@RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final Cache<String, AuthUser> userCache;
+    private final Cache<String, Boolean> recentlyWritten;
+    private final TransactionTemplate replicaRead;
+    private final TransactionTemplate primaryRead;
+    private final Timer cacheLookupTimer;
+    private final Timer databaseLookupTimer;
+
+    public UserServiceImpl(UserRepository userRepository,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${user.cache.enabled:true}") boolean cacheEnabled,
+                           @Value("${user.cache.maximum-size:10000}") long maximumSize,
+                           @Value("${user.cache.expire-after-write:5m}") Duration expireAfterWrite,
+                           @Value("${datasource.routing.read-your-writes-window:5s}") Duration readYourWritesWindow) {
+        this.userRepository = userRepository;
+        this.replicaRead = new TransactionTemplate(transactionManager);
+        this.replicaRead.setReadOnly(true);
+        this.primaryRead = new TransactionTemplate(transactionManager);
+        this.recentlyWritten = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(readYourWritesWindow)
+                .build();
+        this.userCache = cacheEnabled
+                ? Caffeine.newBuilder()
+                        .maximumSize(maximumSize)
+                        .expireAfterWrite(expireAfterWrite)
+                        .recordStats()
+                        .build()
+                : null;
+        if (userCache != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, userCache, "users");
+        }
+        this.cacheLookupTimer = lookupTimer(meterRegistry, "cache");
+        this.databaseLookupTimer = lookupTimer(meterRegistry, "database");
+    }
 
     @Override
     public UserDetailsService userDetailsService() {
-        return email -> userRepository
-                .findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        return this::loadUser;
+    }
+
+    @Override
+    public void evictUser(String email) {
+        String normalized = User.normalizeEmail(email);
+        // a replica may not have the change yet, so read it back from the primary for a while
+        recentlyWritten.put(normalized, Boolean.TRUE);
+        if (userCache != null) {
+            userCache.invalidate(normalized);
+        }
+    }
+
+    @Override
+    public CacheStats userCacheStats() {
+        return userCache != null ? userCache.stats() : CacheStats.empty();
+    }
+
+    private AuthUser loadUser(String username) {
+        long start = System.nanoTime();
+        String email = User.normalizeEmail(username);
+        AuthUser user = userCache != null ? userCache.getIfPresent(email) : null;
+        Timer timer = cacheLookupTimer;
+        if (user == null) {
+            timer = databaseLookupTimer;
+            user = userCache != null ? userCache.get(email, this::findAuthUser) : findAuthUser(email);
+        }
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (user == null) {
+            throw new UsernameNotFoundException("User not found");
+        }
+        return user;
+    }
+
+    private AuthUser findAuthUser(String email) {
+        TransactionTemplate transaction = recentlyWritten.getIfPresent(email) != null ? primaryRead : replicaRead;
+        return transaction.execute(status -> userRepository.findAuthUserByEmail(email).orElse(null));
+    }
+
+    private static Timer lookupTimer(MeterRegistry meterRegistry, String source) {
+        return Timer.builder("auth.user.lookup")
+                .description("Time spent loading users by email")
+                .tag("source", source)
+                .register(meterRegistry);
     }
 }
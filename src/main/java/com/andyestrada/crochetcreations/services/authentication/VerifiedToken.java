@@ -0,0 +1,48 @@
+package com.andyestrada.crochetcreations.services.authentication;
+
+import com.andyestrada.crochetcreations.entities.Role;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+
+public record VerifiedToken(String subject, Date expiration, Map<String, Object> claims) {
+
+    public static final String REQUEST_ATTRIBUTE = "verifiedToken";
+    public static final String CLAIM_TOKEN_ID = "jti";
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+
+    public VerifiedToken {
+        claims = Collections.unmodifiableMap(claims);
+    }
+
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+
+    public String tokenId() {
+        return claim(CLAIM_TOKEN_ID, String.class);
+    }
+
+    public Long userId() {
+        Number userId = claim(CLAIM_USER_ID, Number.class);
+        return userId == null ? null : userId.longValue();
+    }
+
+    public Role role() {
+        String role = claim(CLAIM_ROLE, String.class);
+        return role == null ? null : Role.valueOf(role);
+    }
+
+    public Long tokenVersion() {
+        Number version = claim(CLAIM_TOKEN_VERSION, Number.class);
+        return version == null ? null : version.longValue();
+    }
+
+    public <T> T claim(String name, Class<T> type) {
+        Object value = claims.get(name);
+        return type.isInstance(value) ? type.cast(value) : null;
+    }
+}
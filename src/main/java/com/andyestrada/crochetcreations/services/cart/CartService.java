@@ -0,0 +1,11 @@
+package com.andyestrada.crochetcreations.services.cart;
+
+import com.andyestrada.crochetcreations.dto.response.CartResponseDto;
+
+public interface CartService {
+    CartResponseDto getCart(Long userId);
+    CartResponseDto addItem(Long userId, Long productId, int quantity);
+    CartResponseDto updateItem(Long userId, Long productId, int quantity);
+    CartResponseDto removeItem(Long userId, Long productId);
+    CartResponseDto clear(Long userId);
+}
@@ -0,0 +1,276 @@
+package com.andyestrada.crochetcreations.services.cart;
+
+import com.andyestrada.crochetcreations.dto.response.CartItemDto;
+import com.andyestrada.crochetcreations.dto.response.CartResponseDto;
+import com.andyestrada.crochetcreations.entities.CartItem;
+import com.andyestrada.crochetcreations.repositories.CartItemRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+@Slf4j
+@Service
+public class CartServiceImpl implements CartService {
+
+    private final CartItemRepository cartItemRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Long, CartEntry> carts = new ConcurrentHashMap<>();
+    private final Set<Long> dirtyCarts = ConcurrentHashMap.newKeySet();
+    private final Object flushLock = new Object();
+    private final int maxItems;
+    private final int maxQuantity;
+    private final int flushBatchSize;
+    private final long idleTimeoutNanos;
+
+    public CartServiceImpl(CartItemRepository cartItemRepository,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${cart.max-items:100}") int maxItems,
+                           @Value("${cart.max-quantity:99}") int maxQuantity,
+                           @Value("${cart.flush-batch-size:200}") int flushBatchSize,
+                           @Value("${cart.idle-timeout:30m}") Duration idleTimeout) {
+        this.cartItemRepository = cartItemRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxItems = maxItems;
+        this.maxQuantity = maxQuantity;
+        this.flushBatchSize = flushBatchSize;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        Gauge.builder("cart.resident", carts, Map::size)
+                .description("Carts currently held in memory")
+                .register(meterRegistry);
+        Gauge.builder("cart.dirty", dirtyCarts, Set::size)
+                .description("Carts with changes not yet written to the database")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public CartResponseDto getCart(Long userId) {
+        return withCart(userId, null);
+    }
+
+    @Override
+    public CartResponseDto addItem(Long userId, Long productId, int quantity) {
+        requireProduct(productId);
+        if (quantity < 1) {
+            throw new InvalidCartOperationException("Quantity must be at least 1");
+        }
+        return withCart(userId, items -> {
+            Integer current = items.get(productId);
+            if (current == null && items.size() >= maxItems) {
+                throw new InvalidCartOperationException("A cart can hold at most " + maxItems + " products");
+            }
+            int updated = (current == null ? 0 : current) + quantity;
+            if (updated > maxQuantity) {
+                throw new InvalidCartOperationException("Quantity cannot exceed " + maxQuantity);
+            }
+            items.put(productId, updated);
+            return true;
+        });
+    }
+
+    @Override
+    public CartResponseDto updateItem(Long userId, Long productId, int quantity) {
+        requireProduct(productId);
+        if (quantity < 0 || quantity > maxQuantity) {
+            throw new InvalidCartOperationException("Quantity must be between 0 and " + maxQuantity);
+        }
+        if (quantity == 0) {
+            return removeItem(userId, productId);
+        }
+        return withCart(userId, items -> {
+            if (!items.containsKey(productId) && items.size() >= maxItems) {
+                throw new InvalidCartOperationException("A cart can hold at most " + maxItems + " products");
+            }
+            return !Objects.equals(items.put(productId, quantity), quantity);
+        });
+    }
+
+    @Override
+    public CartResponseDto removeItem(Long userId, Long productId) {
+        requireProduct(productId);
+        return withCart(userId, items -> items.remove(productId) != null);
+    }
+
+    @Override
+    public CartResponseDto clear(Long userId) {
+        return withCart(userId, items -> {
+            boolean changed = !items.isEmpty();
+            items.clear();
+            return changed;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${cart.flush-interval:PT5S}")
+    public void flushAndEvict() {
+        flushDirtyCarts();
+        evictIdleCarts();
+    }
+
+    @PreDestroy
+    public void flushDirtyCarts() {
+        synchronized (flushLock) {
+            List<Snapshot> batch = new ArrayList<>(flushBatchSize);
+            Iterator<Long> dirty = dirtyCarts.iterator();
+            while (dirty.hasNext()) {
+                Long userId = dirty.next();
+                dirty.remove();
+                CartEntry entry = carts.get(userId);
+                if (entry == null) {
+                    continue;
+                }
+                batch.add(entry.snapshot(userId));
+                if (batch.size() == flushBatchSize) {
+                    write(batch);
+                    batch = new ArrayList<>(flushBatchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+            }
+        }
+    }
+
+    private void evictIdleCarts() {
+        long now = System.nanoTime();
+        for (Map.Entry<Long, CartEntry> resident : carts.entrySet()) {
+            CartEntry entry = resident.getValue();
+            if (now - entry.lastAccessNanos < idleTimeoutNanos) {
+                continue;
+            }
+            entry.lock.lock();
+            try {
+                // only carts whose latest version reached the database may leave memory
+                if (entry.persistedVersion == entry.version && now - entry.lastAccessNanos >= idleTimeoutNanos) {
+                    entry.evicted = true;
+                    carts.remove(resident.getKey(), entry);
+                }
+            } finally {
+                entry.lock.unlock();
+            }
+        }
+    }
+
+    private CartResponseDto withCart(Long userId, Predicate<Map<Long, Integer>> mutation) {
+        if (userId == null) {
+            throw new InvalidCartOperationException("The access token does not identify a user");
+        }
+        while (true) {
+            CartEntry entry = residentCart(userId);
+            entry.lock.lock();
+            try {
+                if (entry.evicted) {
+                    continue;
+                }
+                entry.lastAccessNanos = System.nanoTime();
+                if (mutation != null && mutation.test(entry.items)) {
+                    entry.version++;
+                    dirtyCarts.add(userId);
+                }
+                return entry.toDto();
+            } finally {
+                entry.lock.unlock();
+            }
+        }
+    }
+
+    private CartEntry residentCart(Long userId) {
+        CartEntry entry = carts.get(userId);
+        if (entry != null) {
+            return entry;
+        }
+        Map<Long, Integer> items = new LinkedHashMap<>();
+        for (CartItem item : cartItemRepository.findByUserIdOrderByIdAsc(userId)) {
+            items.put(item.getProductId(), item.getQuantity());
+        }
+        CartEntry loaded = new CartEntry(items);
+        CartEntry existing = carts.putIfAbsent(userId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private void write(List<Snapshot> batch) {
+        List<Long> userIds = new ArrayList<>(batch.size());
+        List<CartItem> items = new ArrayList<>();
+        for (Snapshot snapshot : batch) {
+            userIds.add(snapshot.userId());
+            items.addAll(snapshot.items());
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                cartItemRepository.deleteByUserIds(userIds);
+                cartItemRepository.saveAll(items);
+            });
+            batch.forEach(snapshot -> snapshot.entry().markPersisted(snapshot.version()));
+        } catch (RuntimeException e) {
+            log.warn("Failed to persist {} carts, retrying on the next flush", batch.size(), e);
+            dirtyCarts.addAll(userIds);
+        }
+    }
+
+    private static void requireProduct(Long productId) {
+        if (productId == null) {
+            throw new InvalidCartOperationException("A product id is required");
+        }
+    }
+
+    private record Snapshot(Long userId, CartEntry entry, long version, List<CartItem> items) {
+    }
+
+    private static final class CartEntry {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<Long, Integer> items;
+        private volatile long lastAccessNanos = System.nanoTime();
+        private long version;
+        private long persistedVersion;
+        private boolean evicted;
+
+        private CartEntry(Map<Long, Integer> items) {
+            this.items = items;
+        }
+
+        private Snapshot snapshot(Long userId) {
+            lock.lock();
+            try {
+                List<CartItem> copy = new ArrayList<>(items.size());
+                items.forEach((productId, quantity) -> copy.add(CartItem.builder()
+                        .userId(userId)
+                        .productId(productId)
+                        .quantity(quantity)
+                        .build()));
+                return new Snapshot(userId, this, version, copy);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void markPersisted(long persisted) {
+            lock.lock();
+            try {
+                persistedVersion = Math.max(persistedVersion, persisted);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private CartResponseDto toDto() {
+            List<CartItemDto> lines = new ArrayList<>(items.size());
+            int totalQuantity = 0;
+            for (Map.Entry<Long, Integer> item : items.entrySet()) {
+                lines.add(CartItemDto.builder().productId(item.getKey()).quantity(item.getValue()).build());
+                totalQuantity += item.getValue();
+            }
+            return CartResponseDto.builder().items(lines).totalQuantity(totalQuantity).build();
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.andyestrada.crochetcreations.services.cart;
+
+public class InvalidCartOperationException extends RuntimeException {
+    public InvalidCartOperationException(String message) {
+        super(message);
+    }
+}
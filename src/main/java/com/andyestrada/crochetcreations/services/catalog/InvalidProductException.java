@@ -0,0 +1,7 @@
+package com.andyestrada.crochetcreations.services.catalog;
+
+public class InvalidProductException extends RuntimeException {
+    public InvalidProductException(String message) {
+        super(message);
+    }
+}
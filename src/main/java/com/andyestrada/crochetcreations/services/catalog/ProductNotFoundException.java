@@ -0,0 +1,7 @@
+package com.andyestrada.crochetcreations.services.catalog;
+
+public class ProductNotFoundException extends RuntimeException {
+    public ProductNotFoundException(Long id) {
+        super("Product " + id + " was not found");
+    }
+}
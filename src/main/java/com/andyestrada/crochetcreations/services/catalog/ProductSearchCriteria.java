@@ -0,0 +1,20 @@
+package com.andyestrada.crochetcreations.services.catalog;
+
+import java.math.BigDecimal;
+
+public record ProductSearchCriteria(String text,
+                                    String category,
+                                    BigDecimal minPrice,
+                                    BigDecimal maxPrice,
+                                    boolean inStockOnly,
+                                    SortOrder sort,
+                                    int page,
+                                    int size) {
+
+    public enum SortOrder {
+        RELEVANCE,
+        NEWEST,
+        PRICE_ASC,
+        PRICE_DESC
+    }
+}
@@ -0,0 +1,275 @@
+package com.andyestrada.crochetcreations.services.catalog;
+
+import com.andyestrada.crochetcreations.dto.response.ProductDto;
+import com.andyestrada.crochetcreations.dto.response.ProductSearchResponseDto;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+@Component
+public class ProductSearchIndex {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MIN_TOKEN_LENGTH = 2;
+
+    private static final Comparator<Match> NEWEST = Comparator.comparing((Match match) -> match.product().id()).reversed();
+    private static final Comparator<Match> RELEVANCE = Comparator.comparingInt(Match::score).reversed().thenComparing(NEWEST);
+    private static final Comparator<Match> PRICE_ASC = Comparator.comparing((Match match) -> match.product().dto().getPrice())
+            .thenComparing(NEWEST);
+    private static final Comparator<Match> PRICE_DESC = Comparator.comparing((Match match) -> match.product().dto().getPrice())
+            .reversed().thenComparing(NEWEST);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, IndexedProduct> products = new HashMap<>();
+    private final NavigableMap<String, Set<Long>> postings = new TreeMap<>();
+    private final Map<String, Set<Long>> categories = new HashMap<>();
+    private final int maxPageSize;
+
+    public ProductSearchIndex(MeterRegistry meterRegistry,
+                              @Value("${catalog.search.max-page-size:100}") int maxPageSize) {
+        this.maxPageSize = maxPageSize;
+        Gauge.builder("catalog.index.products", () -> read(products::size))
+                .description("Products held in the search index")
+                .register(meterRegistry);
+        Gauge.builder("catalog.index.terms", () -> read(postings::size))
+                .description("Distinct terms held in the search index")
+                .register(meterRegistry);
+    }
+
+    public void rebuild(Collection<ProductDto> all) {
+        lock.writeLock().lock();
+        try {
+            products.clear();
+            postings.clear();
+            categories.clear();
+            all.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void upsert(ProductDto product) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(product.getId());
+            add(product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<ProductDto> find(Long id) {
+        return read(() -> Optional.ofNullable(products.get(id)).map(product -> copy(product.dto())));
+    }
+
+    public ProductSearchResponseDto search(ProductSearchCriteria criteria) {
+        List<String> terms = List.copyOf(tokenize(criteria.text()));
+        String category = normalize(criteria.category());
+        List<Match> matches = read(() -> collect(terms, category, criteria));
+        matches.sort(comparator(criteria.sort(), terms.isEmpty()));
+        int size = Math.max(1, Math.min(criteria.size(), maxPageSize));
+        int page = Math.max(0, criteria.page());
+        int from = (int) Math.min((long) page * size, matches.size());
+        int to = Math.min(from + size, matches.size());
+        List<ProductDto> content = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            content.add(copy(matches.get(i).product().dto()));
+        }
+        return ProductSearchResponseDto.builder()
+                .products(content)
+                .total(matches.size())
+                .page(page)
+                .size(size)
+                .build();
+    }
+
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (token.length() >= MIN_TOKEN_LENGTH) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private List<Match> collect(List<String> terms, String category, ProductSearchCriteria criteria) {
+        Collection<Long> candidates;
+        if (!terms.isEmpty()) {
+            candidates = intersect(terms);
+        } else if (category != null) {
+            candidates = categories.getOrDefault(category, Set.of());
+        } else {
+            candidates = products.keySet();
+        }
+        List<Match> matches = new ArrayList<>(Math.min(candidates.size(), 1024));
+        for (Long id : candidates) {
+            IndexedProduct product = products.get(id);
+            if (accepts(product, category, criteria)) {
+                matches.add(new Match(product, terms.isEmpty() ? 0 : score(product, terms)));
+            }
+        }
+        return matches;
+    }
+
+    private Set<Long> intersect(List<String> terms) {
+        List<Set<Long>> termMatches = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            Set<Long> matched = matchTerm(term);
+            if (matched.isEmpty()) {
+                return Set.of();
+            }
+            termMatches.add(matched);
+        }
+        termMatches.sort(Comparator.comparingInt(Set::size));
+        Set<Long> result = new HashSet<>(termMatches.get(0));
+        for (int i = 1; i < termMatches.size() && !result.isEmpty(); i++) {
+            result.retainAll(termMatches.get(i));
+        }
+        return result;
+    }
+
+    private Set<Long> matchTerm(String term) {
+        // every query term also matches as a prefix, so partially typed words still find products
+        SortedMap<String, Set<Long>> prefixed = postings.subMap(term, term + Character.MAX_VALUE);
+        if (prefixed.size() == 1) {
+            return prefixed.values().iterator().next();
+        }
+        Set<Long> union = new HashSet<>();
+        prefixed.values().forEach(union::addAll);
+        return union;
+    }
+
+    private static boolean accepts(IndexedProduct product, String category, ProductSearchCriteria criteria) {
+        ProductDto dto = product.dto();
+        return (category == null || category.equals(product.category()))
+                && (criteria.minPrice() == null || dto.getPrice().compareTo(criteria.minPrice()) >= 0)
+                && (criteria.maxPrice() == null || dto.getPrice().compareTo(criteria.maxPrice()) <= 0)
+                && (!criteria.inStockOnly() || dto.getStock() > 0);
+    }
+
+    private static int score(IndexedProduct product, List<String> terms) {
+        int score = 0;
+        for (String term : terms) {
+            score += matchesPrefix(product.nameTokens(), term) ? 3 : matchesPrefix(product.tags(), term) ? 2 : 1;
+        }
+        return score;
+    }
+
+    private static boolean matchesPrefix(Set<String> tokens, String term) {
+        if (tokens.contains(term)) {
+            return true;
+        }
+        for (String token : tokens) {
+            if (token.startsWith(term)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Comparator<Match> comparator(ProductSearchCriteria.SortOrder sort, boolean noText) {
+        if (sort == null) {
+            return noText ? NEWEST : RELEVANCE;
+        }
+        return switch (sort) {
+            case RELEVANCE -> noText ? NEWEST : RELEVANCE;
+            case NEWEST -> NEWEST;
+            case PRICE_ASC -> PRICE_ASC;
+            case PRICE_DESC -> PRICE_DESC;
+        };
+    }
+
+    private void add(ProductDto source) {
+        ProductDto dto = copy(source);
+        Set<String> nameTokens = tokenize(dto.getName());
+        Set<String> tags = new HashSet<>();
+        if (dto.getTags() != null) {
+            dto.getTags().forEach(tag -> tags.addAll(tokenize(tag)));
+        }
+        Set<String> tokens = new HashSet<>(nameTokens);
+        tokens.addAll(tokenize(dto.getDescription()));
+        tokens.addAll(tokenize(dto.getCategory()));
+        tokens.addAll(tags);
+        String category = normalize(dto.getCategory());
+        IndexedProduct product = new IndexedProduct(dto.getId(), dto, category, Set.copyOf(nameTokens),
+                Set.copyOf(tags), Set.copyOf(tokens));
+        products.put(product.id(), product);
+        for (String token : product.tokens()) {
+            postings.computeIfAbsent(token, key -> new HashSet<>()).add(product.id());
+        }
+        if (category != null) {
+            categories.computeIfAbsent(category, key -> new HashSet<>()).add(product.id());
+        }
+    }
+
+    private void removeInternal(Long id) {
+        IndexedProduct previous = products.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String token : previous.tokens()) {
+            Set<Long> ids = postings.get(token);
+            if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                postings.remove(token);
+            }
+        }
+        if (previous.category() != null) {
+            Set<Long> ids = categories.get(previous.category());
+            if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                categories.remove(previous.category());
+            }
+        }
+    }
+
+    private <T> T read(Supplier<T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ProductDto is mutable, so the index keeps its own copy and hands out fresh ones
+    private static ProductDto copy(ProductDto dto) {
+        return ProductDto.builder()
+                .id(dto.getId())
+                .name(dto.getName())
+                .description(dto.getDescription())
+                .category(dto.getCategory())
+                .price(dto.getPrice())
+                .stock(dto.getStock())
+                .tags(dto.getTags() == null ? null : Collections.unmodifiableList(new ArrayList<>(dto.getTags())))
+                .build();
+    }
+
+    private static String normalize(String value) {
+        return value == null || value.isBlank() ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record IndexedProduct(Long id, ProductDto dto, String category, Set<String> nameTokens,
+                                  Set<String> tags, Set<String> tokens) {
+    }
+
+    private record Match(IndexedProduct product, int score) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.andyestrada.crochetcreations.services.catalog;
+
+import com.andyestrada.crochetcreations.dto.request.ProductRequestDto;
+import com.andyestrada.crochetcreations.dto.response.ProductDto;
+import com.andyestrada.crochetcreations.dto.response.ProductSearchResponseDto;
+
+import java.util.Collection;
+
+public interface ProductService {
+    ProductDto getProduct(Long id);
+    ProductSearchResponseDto search(ProductSearchCriteria criteria);
+    ProductDto createProduct(ProductRequestDto request);
+    ProductDto updateProduct(Long id, ProductRequestDto request);
+    void deleteProduct(Long id);
+    void refreshProducts(Collection<Long> ids);
+}
@@ -0,0 +1,179 @@
+package com.andyestrada.crochetcreations.services.catalog;
+
+import com.andyestrada.crochetcreations.dto.request.ProductRequestDto;
+import com.andyestrada.crochetcreations.dto.response.ProductDto;
+import com.andyestrada.crochetcreations.dto.response.ProductSearchResponseDto;
+import com.andyestrada.crochetcreations.entities.Product;
+import com.andyestrada.crochetcreations.repositories.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Service
+public class ProductServiceImpl implements ProductService {
+
+    private final ProductRepository productRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    // admin writes are rare; serializing them keeps index updates in commit order
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public ProductServiceImpl(ProductRepository productRepository,
+                              ProductSearchIndex productSearchIndex,
+                              PlatformTransactionManager transactionManager,
+                              ApplicationEventPublisher eventPublisher) {
+        this.productRepository = productRepository;
+        this.productSearchIndex = productSearchIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndex() {
+        writeLock.lock();
+        try {
+            List<ProductDto> products = transactionTemplate.execute(status -> productRepository.findAllWithTags()
+                    .stream()
+                    .map(ProductServiceImpl::toDto)
+                    .toList());
+            productSearchIndex.rebuild(products);
+            log.info("Indexed {} products", products.size());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public ProductDto getProduct(Long id) {
+        return productSearchIndex.find(id).orElseThrow(() -> new ProductNotFoundException(id));
+    }
+
+    @Override
+    public ProductSearchResponseDto search(ProductSearchCriteria criteria) {
+        return productSearchIndex.search(criteria);
+    }
+
+    @Override
+    public ProductDto createProduct(ProductRequestDto request) {
+        validate(request);
+        writeLock.lock();
+        try {
+            ProductDto product = transactionTemplate.execute(status -> {
+                Product entity = new Product();
+                apply(entity, request);
+                return toDto(productRepository.save(entity));
+            });
+            productSearchIndex.upsert(product);
+            return product;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public ProductDto updateProduct(Long id, ProductRequestDto request) {
+        validate(request);
+        writeLock.lock();
+        try {
+            ProductDto product = transactionTemplate.execute(status -> {
+                Product entity = productRepository.findById(id).orElseThrow(() -> new ProductNotFoundException(id));
+                apply(entity, request);
+                return toDto(productRepository.save(entity));
+            });
+            productSearchIndex.upsert(product);
+            eventPublisher.publishEvent(new ProductStockChangedEvent(id, product.getStock()));
+            return product;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void deleteProduct(Long id) {
+        writeLock.lock();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!productRepository.existsById(id)) {
+                    throw new ProductNotFoundException(id);
+                }
+                productRepository.deleteById(id);
+            });
+            productSearchIndex.remove(id);
+            eventPublisher.publishEvent(new ProductStockChangedEvent(id, null));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void refreshProducts(Collection<Long> ids) {
+        writeLock.lock();
+        try {
+            List<ProductDto> products = transactionTemplate.execute(status -> productRepository
+                    .findAllWithTagsByIdIn(ids)
+                    .stream()
+                    .map(ProductServiceImpl::toDto)
+                    .toList());
+            products.forEach(productSearchIndex::upsert);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static void validate(ProductRequestDto request) {
+        if (StringUtils.isBlank(request.getName())) {
+            throw new InvalidProductException("A product name is required");
+        }
+        if (request.getPrice() == null || request.getPrice().signum() < 0) {
+            throw new InvalidProductException("A non-negative price is required");
+        }
+        if (request.getStock() < 0) {
+            throw new InvalidProductException("Stock cannot be negative");
+        }
+    }
+
+    private static void apply(Product entity, ProductRequestDto request) {
+        entity.setName(request.getName().trim());
+        entity.setDescription(StringUtils.trimToNull(request.getDescription()));
+        entity.setCategory(StringUtils.trimToNull(request.getCategory()));
+        entity.setPrice(request.getPrice().setScale(2, RoundingMode.HALF_UP));
+        entity.setStock(request.getStock());
+        Set<String> tags = new LinkedHashSet<>();
+        if (request.getTags() != null) {
+            for (String tag : request.getTags()) {
+                if (StringUtils.isNotBlank(tag)) {
+                    tags.add(tag.trim().toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        entity.getTags().clear();
+        entity.getTags().addAll(tags);
+    }
+
+    private static ProductDto toDto(Product product) {
+        return ProductDto.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .description(product.getDescription())
+                .category(product.getCategory())
+                .price(product.getPrice())
+                .stock(product.getStock())
+                .tags(List.copyOf(product.getTags()))
+                .build();
+    }
+}
@@ -0,0 +1,5 @@
+package com.andyestrada.crochetcreations.services.catalog;
+
+// published after an admin write sets a product's stock; stock is null once the product is deleted
+public record ProductStockChangedEvent(Long productId, Integer stock) {
+}
@@ -0,0 +1,9 @@
+package com.andyestrada.crochetcreations.services.images;
+
+import org.springframework.http.MediaType;
+
+import java.nio.file.Path;
+
+// either a file on disk, sent without copying it through the heap, or a thumbnail already in memory
+public record ImageContent(String etag, MediaType contentType, long length, Path file, byte[] bytes) {
+}
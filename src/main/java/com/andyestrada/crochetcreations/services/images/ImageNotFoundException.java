@@ -0,0 +1,7 @@
+package com.andyestrada.crochetcreations.services.images;
+
+public class ImageNotFoundException extends RuntimeException {
+    public ImageNotFoundException(String imageId) {
+        super("Image " + imageId + " was not found");
+    }
+}
@@ -0,0 +1,14 @@
+package com.andyestrada.crochetcreations.services.images;
+
+import com.andyestrada.crochetcreations.dto.response.ProductImageDto;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.List;
+
+public interface ImageService {
+    ProductImageDto upload(Long productId, MultipartFile file) throws IOException;
+    List<ProductImageDto> listImages(Long productId);
+    void delete(Long productId, String imageId) throws IOException;
+    ImageContent load(String imageId, Integer width) throws IOException;
+}
@@ -0,0 +1,323 @@
+package com.andyestrada.crochetcreations.services.images;
+
+import com.andyestrada.crochetcreations.dto.response.ProductImageDto;
+import com.andyestrada.crochetcreations.entities.ProductImage;
+import com.andyestrada.crochetcreations.repositories.ProductImageRepository;
+import com.andyestrada.crochetcreations.services.catalog.ProductService;
+import com.andyestrada.crochetcreations.services.catalog.ProductStockChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+public class ImageServiceImpl implements ImageService {
+
+    private static final Pattern IMAGE_ID = Pattern.compile("[0-9a-f]{32}\\.(png|jpg|gif)");
+    private static final Pattern THUMBNAIL_FILE = Pattern.compile("[0-9a-f]{32}-w\\d+\\.(png|jpg)");
+    private static final Map<String, String> EXTENSIONS = Map.of("png", "png", "jpeg", "jpg", "gif", "gif");
+    private static final String IMAGES_PATH = "/api/v1/images/";
+
+    private final ProductService productService;
+    private final ProductImageRepository productImageRepository;
+    private final Path originals;
+    private final Path thumbnails;
+    private final SortedSet<Integer> thumbnailWidths;
+    private final long maxPixels;
+    private final Cache<String, Path> thumbnailFiles;
+    private final Cache<String, byte[]> thumbnailBytes;
+    private final Counter thumbnailsGenerated;
+
+    public ImageServiceImpl(ProductService productService,
+                            ProductImageRepository productImageRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${images.directory}") Path directory,
+                            @Value("${images.thumbnail.widths:160,320,640}") Set<Integer> thumbnailWidths,
+                            @Value("${images.thumbnail.disk-cache-size:256MB}") DataSize diskCacheSize,
+                            @Value("${images.thumbnail.memory-cache-size:32MB}") DataSize memoryCacheSize,
+                            @Value("${images.max-pixels:40000000}") long maxPixels) throws IOException {
+        this.productService = productService;
+        this.productImageRepository = productImageRepository;
+        this.originals = Files.createDirectories(directory.resolve("originals"));
+        this.thumbnails = Files.createDirectories(directory.resolve("thumbnails"));
+        this.thumbnailWidths = new TreeSet<>(thumbnailWidths);
+        this.maxPixels = maxPixels;
+        // generated thumbnails are kept on disk up to a total size; the least recently used are deleted
+        this.thumbnailFiles = Caffeine.newBuilder()
+                .maximumWeight(diskCacheSize.toBytes())
+                .weigher((String key, Path file) -> (int) Math.min(Integer.MAX_VALUE, file.toFile().length()))
+                .removalListener((String key, Path file, RemovalCause cause) -> {
+                    if (file != null && cause != RemovalCause.REPLACED) {
+                        deleteQuietly(file);
+                    }
+                })
+                .build();
+        this.thumbnailBytes = Caffeine.newBuilder()
+                .maximumWeight(memoryCacheSize.toBytes())
+                .weigher((String key, byte[] bytes) -> bytes.length)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, thumbnailBytes, "image.thumbnails");
+        this.thumbnailsGenerated = Counter.builder("images.thumbnails.generated")
+                .description("Thumbnails resized from an original image")
+                .register(meterRegistry);
+        try (Stream<Path> files = Files.list(thumbnails)) {
+            files.filter(file -> THUMBNAIL_FILE.matcher(file.getFileName().toString()).matches())
+                    .forEach(file -> thumbnailFiles.put(file.getFileName().toString(), file));
+        }
+    }
+
+    @Override
+    public ProductImageDto upload(Long productId, MultipartFile file) throws IOException {
+        productService.getProduct(productId);
+        if (file == null || file.isEmpty()) {
+            throw new InvalidImageException("An image file is required");
+        }
+        Path upload = Files.createTempFile(originals, "upload-", ".tmp");
+        try {
+            file.transferTo(upload);
+            ImageInfo info = inspect(upload);
+            String imageId = contentHash(upload) + "." + info.extension();
+            Path original = originals.resolve(imageId);
+            if (!Files.exists(original)) {
+                Files.move(upload, original, StandardCopyOption.ATOMIC_MOVE);
+            }
+            ProductImage image = productImageRepository.findByProductIdAndImageId(productId, imageId)
+                    .orElseGet(() -> productImageRepository.save(ProductImage.builder()
+                            .productId(productId)
+                            .imageId(imageId)
+                            .contentType(mediaType(imageId).toString())
+                            .size(file.getSize())
+                            .width(info.width())
+                            .height(info.height())
+                            .createdAt(Instant.now())
+                            .build()));
+            return toDto(image);
+        } finally {
+            Files.deleteIfExists(upload);
+        }
+    }
+
+    @Override
+    public List<ProductImageDto> listImages(Long productId) {
+        productService.getProduct(productId);
+        return productImageRepository.findByProductIdOrderByIdAsc(productId).stream()
+                .map(ImageServiceImpl::toDto)
+                .toList();
+    }
+
+    @Override
+    public void delete(Long productId, String imageId) throws IOException {
+        ProductImage image = productImageRepository.findByProductIdAndImageId(productId, imageId)
+                .orElseThrow(() -> new ImageNotFoundException(imageId));
+        remove(image);
+    }
+
+    @EventListener
+    public void onStockChanged(ProductStockChangedEvent event) {
+        if (event.stock() != null) {
+            return;
+        }
+        for (ProductImage image : productImageRepository.findByProductIdOrderByIdAsc(event.productId())) {
+            try {
+                remove(image);
+            } catch (IOException e) {
+                log.warn("Could not delete image {} of deleted product {}", image.getImageId(), event.productId(), e);
+            }
+        }
+    }
+
+    private void remove(ProductImage image) throws IOException {
+        String imageId = image.getImageId();
+        productImageRepository.delete(image);
+        // originals are content addressed, so another product may still show the same file
+        if (!productImageRepository.existsByImageId(imageId)) {
+            for (Integer width : thumbnailWidths) {
+                String key = thumbnailKey(imageId, width);
+                thumbnailBytes.invalidate(key);
+                thumbnailFiles.invalidate(key);
+            }
+            Files.deleteIfExists(originals.resolve(imageId));
+        }
+    }
+
+    @Override
+    public ImageContent load(String imageId, Integer width) throws IOException {
+        if (!IMAGE_ID.matcher(imageId).matches()) {
+            throw new ImageNotFoundException(imageId);
+        }
+        Path original = originals.resolve(imageId);
+        if (!Files.isRegularFile(original)) {
+            throw new ImageNotFoundException(imageId);
+        }
+        String hash = imageId.substring(0, imageId.indexOf('.'));
+        if (width == null) {
+            return new ImageContent("\"" + hash + "\"", mediaType(imageId), Files.size(original), original, null);
+        }
+        if (!thumbnailWidths.contains(width)) {
+            throw new InvalidImageException("Thumbnails are available at widths " + thumbnailWidths);
+        }
+        String key = thumbnailKey(imageId, width);
+        byte[] bytes;
+        try {
+            bytes = thumbnailBytes.get(key, k -> readAllBytes(thumbnailFiles.get(k, kk -> resize(original, kk, width))));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return new ImageContent("\"" + hash + "-w" + width + "\"", mediaType(key), bytes.length, null, bytes);
+    }
+
+    private Path resize(Path original, String key, int width) {
+        try {
+            BufferedImage source = ImageIO.read(original.toFile());
+            if (source == null) {
+                throw new InvalidImageException("The stored image could not be decoded");
+            }
+            int targetWidth = Math.min(width, source.getWidth());
+            int targetHeight = Math.max(1, Math.round((float) source.getHeight() * targetWidth / source.getWidth()));
+            boolean png = key.endsWith(".png");
+            int type = png ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+            BufferedImage current = source;
+            // halving in steps keeps detail that a single bilinear pass from a large original would alias away
+            do {
+                int stepWidth = Math.max(targetWidth, current.getWidth() / 2);
+                int stepHeight = Math.max(targetHeight, current.getHeight() / 2);
+                BufferedImage step = new BufferedImage(stepWidth, stepHeight, type);
+                Graphics2D graphics = step.createGraphics();
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, stepWidth, stepHeight, null);
+                graphics.dispose();
+                current = step;
+            } while (current.getWidth() > targetWidth);
+            Path temporary = Files.createTempFile(thumbnails, "thumbnail-", ".tmp");
+            try {
+                ImageIO.write(current, png ? "png" : "jpg", temporary.toFile());
+                Path thumbnail = thumbnails.resolve(key);
+                Files.move(temporary, thumbnail, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                thumbnailsGenerated.increment();
+                return thumbnail;
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ImageInfo inspect(Path file) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : Collections.emptyIterator();
+            ImageReader reader = readers.hasNext() ? readers.next() : null;
+            String extension = reader != null ? EXTENSIONS.get(reader.getFormatName().toLowerCase(Locale.ROOT)) : null;
+            if (extension == null) {
+                throw new InvalidImageException("Only PNG, JPEG and GIF images are supported");
+            }
+            try {
+                // dimensions come from the header, so an oversized image is refused before it is decoded
+                reader.setInput(input);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    throw new InvalidImageException("Images may have at most " + maxPixels + " pixels");
+                }
+                return new ImageInfo(extension, width, height);
+            } catch (IOException e) {
+                throw new InvalidImageException("The image could not be read");
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static String contentHash(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (FileChannel channel = FileChannel.open(file)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+            while (channel.read(buffer) > 0) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest(), 0, 16);
+    }
+
+    private static String thumbnailKey(String imageId, int width) {
+        String hash = imageId.substring(0, imageId.indexOf('.'));
+        return hash + "-w" + width + (imageId.endsWith(".jpg") ? ".jpg" : ".png");
+    }
+
+    private static MediaType mediaType(String fileName) {
+        if (fileName.endsWith(".jpg")) {
+            return MediaType.IMAGE_JPEG;
+        }
+        return fileName.endsWith(".gif") ? MediaType.IMAGE_GIF : MediaType.IMAGE_PNG;
+    }
+
+    private static byte[] readAllBytes(Path file) {
+        try {
+            return Files.readAllBytes(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete cached thumbnail {}", file, e);
+        }
+    }
+
+    private static ProductImageDto toDto(ProductImage image) {
+        return ProductImageDto.builder()
+                .imageId(image.getImageId())
+                .productId(image.getProductId())
+                .contentType(image.getContentType())
+                .size(image.getSize())
+                .width(image.getWidth())
+                .height(image.getHeight())
+                .url(IMAGES_PATH + image.getImageId())
+                .build();
+    }
+
+    private record ImageInfo(String extension, int width, int height) {
+    }
+}
@@ -0,0 +1,7 @@
+package com.andyestrada.crochetcreations.services.images;
+
+public class InvalidImageException extends RuntimeException {
+    public InvalidImageException(String message) {
+        super(message);
+    }
+}
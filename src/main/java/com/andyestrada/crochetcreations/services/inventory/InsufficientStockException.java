@@ -0,0 +1,7 @@
+package com.andyestrada.crochetcreations.services.inventory;
+
+public class InsufficientStockException extends RuntimeException {
+    public InsufficientStockException(Long productId) {
+        super("Not enough stock left for product " + productId);
+    }
+}
@@ -0,0 +1,9 @@
+package com.andyestrada.crochetcreations.services.inventory;
+
+import com.andyestrada.crochetcreations.dto.response.ReservationResponseDto;
+
+public interface InventoryService {
+    ReservationResponseDto reserveCart(Long userId);
+    ReservationResponseDto confirm(Long userId, String reservationId);
+    ReservationResponseDto release(Long userId, String reservationId);
+}
@@ -0,0 +1,399 @@
+package com.andyestrada.crochetcreations.services.inventory;
+
+import com.andyestrada.crochetcreations.dto.response.CartItemDto;
+import com.andyestrada.crochetcreations.dto.response.ProductDto;
+import com.andyestrada.crochetcreations.dto.response.ReservationResponseDto;
+import com.andyestrada.crochetcreations.entities.PurchaseOrder;
+import com.andyestrada.crochetcreations.entities.PurchaseOrderItem;
+import com.andyestrada.crochetcreations.repositories.ProductRepository;
+import com.andyestrada.crochetcreations.repositories.PurchaseOrderRepository;
+import com.andyestrada.crochetcreations.services.cart.CartService;
+import com.andyestrada.crochetcreations.services.cart.InvalidCartOperationException;
+import com.andyestrada.crochetcreations.services.catalog.ProductService;
+import com.andyestrada.crochetcreations.services.catalog.ProductStockChangedEvent;
+import com.andyestrada.crochetcreations.utils.HashedTimerWheel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Slf4j
+@Service
+public class InventoryServiceImpl implements InventoryService {
+
+    private final CartService cartService;
+    private final ProductService productService;
+    private final ProductRepository productRepository;
+    private final PurchaseOrderRepository purchaseOrderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Long, StockCounter> counters = new ConcurrentHashMap<>();
+    private final Map<String, Reservation> reservations = new ConcurrentHashMap<>();
+    private final Map<Long, Reservation> pendingByUser = new ConcurrentHashMap<>();
+    private final Queue<Reservation> confirmed = new ConcurrentLinkedQueue<>();
+    private final Queue<Reservation> failedCommits = new ConcurrentLinkedQueue<>();
+    private final Map<Long, AtomicInteger> uncommittedUnits = new ConcurrentHashMap<>();
+    private final HashedTimerWheel<Reservation> expirations;
+    private final Object commitLock = new Object();
+    private final Duration reservationTtl;
+    private final int commitBatchSize;
+    private final int commitMaxAttempts;
+    private final Counter reservedCount;
+    private final Counter rejectedCount;
+    private final Counter confirmedCount;
+    private final Counter releasedCount;
+    private final Counter expiredCount;
+    private final Counter oversoldCount;
+
+    public InventoryServiceImpl(CartService cartService,
+                                ProductService productService,
+                                ProductRepository productRepository,
+                                PurchaseOrderRepository purchaseOrderRepository,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${inventory.reservation.ttl:10m}") Duration reservationTtl,
+                                @Value("${inventory.reservation.tick:PT1S}") Duration tick,
+                                @Value("${inventory.commit-batch-size:200}") int commitBatchSize,
+                                @Value("${inventory.commit-max-attempts:10}") int commitMaxAttempts) {
+        this.cartService = cartService;
+        this.productService = productService;
+        this.productRepository = productRepository;
+        this.purchaseOrderRepository = purchaseOrderRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reservationTtl = reservationTtl;
+        this.commitBatchSize = commitBatchSize;
+        this.commitMaxAttempts = commitMaxAttempts;
+        this.expirations = new HashedTimerWheel<>(512, tick.toMillis());
+        this.reservedCount = reservationCounter(meterRegistry, "reserved");
+        this.rejectedCount = reservationCounter(meterRegistry, "rejected");
+        this.confirmedCount = reservationCounter(meterRegistry, "confirmed");
+        this.releasedCount = reservationCounter(meterRegistry, "released");
+        this.expiredCount = reservationCounter(meterRegistry, "expired");
+        this.oversoldCount = Counter.builder("inventory.oversold")
+                .description("Units committed beyond the stock recorded in the database")
+                .register(meterRegistry);
+        Gauge.builder("inventory.reservations.pending", pendingByUser, Map::size)
+                .description("Reservations holding stock until they are confirmed, released or expire")
+                .register(meterRegistry);
+        Gauge.builder("inventory.commits.pending", confirmed, Queue::size)
+                .description("Confirmed reservations not yet written to the database")
+                .register(meterRegistry);
+        Gauge.builder("inventory.commits.failed", failedCommits, Queue::size)
+                .description("Confirmed reservations that could not be written and need reconciling")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ReservationResponseDto reserveCart(Long userId) {
+        if (userId == null) {
+            throw new InvalidCartOperationException("The access token does not identify a user");
+        }
+        List<CartItemDto> items = cartService.getCart(userId).getItems().stream()
+                .sorted(Comparator.comparing(CartItemDto::getProductId))
+                .toList();
+        if (items.isEmpty()) {
+            throw new InvalidCartOperationException("The cart is empty");
+        }
+        // a user holds at most one reservation, so repeated checkouts cannot hoard stock
+        Reservation previous = pendingByUser.get(userId);
+        if (previous != null) {
+            finish(previous, Status.RELEASED);
+        }
+        List<CartItemDto> reserved = new ArrayList<>(items.size());
+        Map<Long, BigDecimal> unitPrices = new HashMap<>();
+        try {
+            for (CartItemDto item : items) {
+                ProductDto product = productService.getProduct(item.getProductId());
+                if (!counter(product).tryReserve(item.getQuantity())) {
+                    rejectedCount.increment();
+                    throw new InsufficientStockException(item.getProductId());
+                }
+                reserved.add(item);
+                unitPrices.put(product.getId(), product.getPrice());
+            }
+        } catch (RuntimeException e) {
+            releaseUnits(reserved);
+            throw e;
+        }
+        Instant expiresAt = Instant.now().plus(reservationTtl);
+        Reservation reservation = new Reservation(UUID.randomUUID().toString(), userId, items, unitPrices,
+                expiresAt);
+        reservations.put(reservation.id, reservation);
+        Reservation displaced = pendingByUser.put(userId, reservation);
+        if (displaced != null) {
+            finish(displaced, Status.RELEASED);
+        }
+        expirations.schedule(reservation, expiresAt.toEpochMilli());
+        reservedCount.increment();
+        return reservation.toDto();
+    }
+
+    @Override
+    public ReservationResponseDto confirm(Long userId, String reservationId) {
+        Reservation reservation = owned(userId, reservationId);
+        if (!finish(reservation, Status.CONFIRMED)) {
+            throw new ReservationNotFoundException(reservationId);
+        }
+        cartService.clear(userId);
+        return reservation.toDto();
+    }
+
+    @Override
+    public ReservationResponseDto release(Long userId, String reservationId) {
+        Reservation reservation = owned(userId, reservationId);
+        if (!finish(reservation, Status.RELEASED)) {
+            throw new ReservationNotFoundException(reservationId);
+        }
+        return reservation.toDto();
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.reservation.tick:PT1S}")
+    public void expireReservations() {
+        expirations.advance(System.currentTimeMillis(), reservation -> finish(reservation, Status.EXPIRED));
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${inventory.commit-interval:PT1S}")
+    public void commitConfirmed() {
+        Set<Long> committedProducts = new TreeSet<>();
+        synchronized (commitLock) {
+            List<Reservation> retries = new ArrayList<>();
+            try {
+                List<Reservation> batch = new ArrayList<>(commitBatchSize);
+                for (Reservation reservation = confirmed.poll(); reservation != null; reservation = confirmed.poll()) {
+                    batch.add(reservation);
+                    if (batch.size() == commitBatchSize) {
+                        if (!commit(batch, retries, committedProducts)) {
+                            break;
+                        }
+                        batch = new ArrayList<>(commitBatchSize);
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    commit(batch, retries, committedProducts);
+                }
+            } finally {
+                confirmed.addAll(retries);
+            }
+        }
+        if (committedProducts.isEmpty()) {
+            return;
+        }
+        // outside the commit lock: admin writes hold the catalog lock while they take it in onStockChanged
+        try {
+            productService.refreshProducts(committedProducts);
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh the catalog after committing stock", e);
+        }
+    }
+
+    @EventListener
+    public void onStockChanged(ProductStockChangedEvent event) {
+        if (event.stock() == null) {
+            counters.remove(event.productId());
+            return;
+        }
+        StockCounter counter = counters.get(event.productId());
+        if (counter == null) {
+            return;
+        }
+        // a commit may have decremented the stock since the admin wrote it, so read it back while no
+        // commit is running; units confirmed but not yet committed will still come off it
+        synchronized (commitLock) {
+            Integer stock = transactionTemplate.execute(status ->
+                    productRepository.findStockById(event.productId()).orElse(null));
+            if (stock != null) {
+                counter.reset(stock - uncommitted(event.productId()));
+            }
+        }
+    }
+
+    // a failed batch is retried one reservation at a time so a single bad order cannot hold back the rest
+    private boolean commit(List<Reservation> batch, List<Reservation> retries, Set<Long> committedProducts) {
+        RuntimeException failure = write(batch, committedProducts);
+        if (failure == null) {
+            return true;
+        }
+        if (batch.size() == 1) {
+            retryLater(batch.get(0), failure, retries);
+            return false;
+        }
+        log.warn("Failed to commit {} confirmed reservations, committing them one by one", batch.size(), failure);
+        boolean committed = false;
+        for (Reservation reservation : batch) {
+            RuntimeException e = write(List.of(reservation), committedProducts);
+            if (e == null) {
+                committed = true;
+            } else {
+                retryLater(reservation, e, retries);
+            }
+        }
+        return committed;
+    }
+
+    private void retryLater(Reservation reservation, RuntimeException cause, List<Reservation> retries) {
+        reservation.commitAttempts++;
+        if (cause instanceof NonTransientDataAccessException || reservation.commitAttempts >= commitMaxAttempts) {
+            // its units stay held against the stock until the order is reconciled by hand
+            log.error("Giving up on committing reservation {} for user {} after {} attempts",
+                    reservation.id, reservation.userId, reservation.commitAttempts, cause);
+            failedCommits.add(reservation);
+            return;
+        }
+        log.warn("Failed to commit reservation {}, retrying on the next commit", reservation.id, cause);
+        retries.add(reservation);
+    }
+
+    private RuntimeException write(List<Reservation> batch, Set<Long> committedProducts) {
+        Map<Long, Integer> decrements = new TreeMap<>();
+        List<PurchaseOrder> orders = new ArrayList<>(batch.size());
+        for (Reservation reservation : batch) {
+            List<PurchaseOrderItem> items = new ArrayList<>(reservation.items.size());
+            for (CartItemDto item : reservation.items) {
+                decrements.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+                items.add(PurchaseOrderItem.builder()
+                        .productId(item.getProductId())
+                        .quantity(item.getQuantity())
+                        .unitPrice(reservation.unitPrices.get(item.getProductId()))
+                        .build());
+            }
+            orders.add(PurchaseOrder.builder()
+                    .reservationId(reservation.id)
+                    .userId(reservation.userId)
+                    .createdAt(reservation.confirmedAt)
+                    .items(items)
+                    .build());
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                purchaseOrderRepository.saveAll(orders);
+                // one update per product however many orders bought it
+                decrements.forEach(this::decrementStock);
+            });
+        } catch (RuntimeException e) {
+            return e;
+        }
+        decrements.forEach((productId, quantity) -> uncommittedUnits.get(productId).addAndGet(-quantity));
+        committedProducts.addAll(decrements.keySet());
+        return null;
+    }
+
+    private void decrementStock(Long productId, int quantity) {
+        if (productRepository.decrementStock(productId, quantity) == 0) {
+            // the units were confirmed to customers, so the orders stand and the shortfall is reported
+            log.warn("Product {} has less stock than the {} units sold, setting it to 0", productId, quantity);
+            oversoldCount.increment(quantity);
+            productRepository.clearStock(productId);
+        }
+    }
+
+    private boolean finish(Reservation reservation, Status status) {
+        if (!reservation.status.compareAndSet(Status.PENDING, status)) {
+            return false;
+        }
+        reservations.remove(reservation.id);
+        pendingByUser.remove(reservation.userId, reservation);
+        if (status != Status.CONFIRMED) {
+            releaseUnits(reservation.items);
+            (status == Status.EXPIRED ? expiredCount : releasedCount).increment();
+            return true;
+        }
+        for (CartItemDto item : reservation.items) {
+            uncommittedUnits.computeIfAbsent(item.getProductId(), id -> new AtomicInteger())
+                    .addAndGet(item.getQuantity());
+            StockCounter counter = counters.get(item.getProductId());
+            if (counter != null) {
+                counter.confirm(item.getQuantity());
+            }
+        }
+        reservation.confirmedAt = Instant.now();
+        confirmed.add(reservation);
+        confirmedCount.increment();
+        return true;
+    }
+
+    private void releaseUnits(List<CartItemDto> items) {
+        for (CartItemDto item : items) {
+            StockCounter counter = counters.get(item.getProductId());
+            if (counter != null) {
+                counter.release(item.getQuantity());
+            }
+        }
+    }
+
+    private Reservation owned(Long userId, String reservationId) {
+        Reservation reservation = reservations.get(reservationId);
+        if (reservation == null || !reservation.userId.equals(userId)) {
+            throw new ReservationNotFoundException(reservationId);
+        }
+        return reservation;
+    }
+
+    private StockCounter counter(ProductDto product) {
+        return counters.computeIfAbsent(product.getId(), id -> new StockCounter(product.getStock() - uncommitted(id)));
+    }
+
+    private int uncommitted(Long productId) {
+        AtomicInteger units = uncommittedUnits.get(productId);
+        return units != null ? units.get() : 0;
+    }
+
+    private static Counter reservationCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("inventory.reservations")
+                .description("Stock reservations by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private enum Status {
+        PENDING,
+        CONFIRMED,
+        RELEASED,
+        EXPIRED
+    }
+
+    private static final class Reservation {
+        private final String id;
+        private final Long userId;
+        private final List<CartItemDto> items;
+        private final Map<Long, BigDecimal> unitPrices;
+        private final Instant expiresAt;
+        private final AtomicReference<Status> status = new AtomicReference<>(Status.PENDING);
+        private volatile Instant confirmedAt;
+        private int commitAttempts;
+
+        private Reservation(String id, Long userId, List<CartItemDto> items, Map<Long, BigDecimal> unitPrices,
+                            Instant expiresAt) {
+            this.id = id;
+            this.userId = userId;
+            this.items = items;
+            this.unitPrices = unitPrices;
+            this.expiresAt = expiresAt;
+        }
+
+        private ReservationResponseDto toDto() {
+            return ReservationResponseDto.builder()
+                    .reservationId(id)
+                    .status(status.get().name())
+                    .items(items)
+                    .expiresAt(expiresAt)
+                    .build();
+        }
+    }
+}
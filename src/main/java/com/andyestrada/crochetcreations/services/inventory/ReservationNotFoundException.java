@@ -0,0 +1,7 @@
+package com.andyestrada.crochetcreations.services.inventory;
+
+public class ReservationNotFoundException extends RuntimeException {
+    public ReservationNotFoundException(String reservationId) {
+        super("Reservation " + reservationId + " was not found or is no longer pending");
+    }
+}
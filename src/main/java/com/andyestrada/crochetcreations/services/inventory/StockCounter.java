@@ -0,0 +1,73 @@
+package com.andyestrada.crochetcreations.services.inventory;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// available and reserved units packed into one word so both change in a single compare-and-set
+public class StockCounter {
+
+    private final AtomicLong state;
+
+    public StockCounter(int available) {
+        this.state = new AtomicLong(pack(available, 0));
+    }
+
+    public boolean tryReserve(int quantity) {
+        while (true) {
+            long current = state.get();
+            int available = available(current);
+            if (available < quantity) {
+                return false;
+            }
+            if (state.compareAndSet(current, pack(available - quantity, reserved(current) + quantity))) {
+                return true;
+            }
+        }
+    }
+
+    public void release(int quantity) {
+        update(quantity, -quantity);
+    }
+
+    public void confirm(int quantity) {
+        update(0, -quantity);
+    }
+
+    public void reset(int available) {
+        while (true) {
+            long current = state.get();
+            if (state.compareAndSet(current, pack(Math.max(0, available - reserved(current)), reserved(current)))) {
+                return;
+            }
+        }
+    }
+
+    public int available() {
+        return available(state.get());
+    }
+
+    public int reserved() {
+        return reserved(state.get());
+    }
+
+    private void update(int availableDelta, int reservedDelta) {
+        while (true) {
+            long current = state.get();
+            long next = pack(available(current) + availableDelta, reserved(current) + reservedDelta);
+            if (state.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    private static long pack(int available, int reserved) {
+        return ((long) available << 32) | (reserved & 0xFFFFFFFFL);
+    }
+
+    private static int available(long state) {
+        return (int) (state >>> 32);
+    }
+
+    private static int reserved(long state) {
+        return (int) state;
+    }
+}
@@ -0,0 +1,7 @@
+package com.andyestrada.crochetcreations.services.users;
+
+public class EmailAlreadyRegisteredException extends RuntimeException {
+    public EmailAlreadyRegisteredException(String email) {
+        super("Email " + email + " is already registered");
+    }
+}
@@ -0,0 +1,6 @@
+package com.andyestrada.crochetcreations.services.users;
+
+public interface EmailAvailabilityService {
+    boolean isAvailable(String email);
+    void registered(String email);
+}
@@ -0,0 +1,127 @@
+package com.andyestrada.crochetcreations.services.users;
+
+import com.andyestrada.crochetcreations.entities.User;
+import com.andyestrada.crochetcreations.repositories.UserRepository;
+import com.andyestrada.crochetcreations.utils.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+public class EmailAvailabilityServiceImpl implements EmailAvailabilityService {
+
+    private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long minimumCapacity;
+    private final boolean singleNode;
+    private final AtomicLong insertions = new AtomicLong();
+    private final Queue<String> registeredDuringLoad = new ConcurrentLinkedQueue<>();
+    private final Counter filterNegatives;
+    private final Counter databaseAbsent;
+    private final Counter databasePresent;
+    private volatile BloomFilter registeredEmails;
+    private volatile boolean loading;
+    private long capacity;
+
+    public EmailAvailabilityServiceImpl(UserRepository userRepository,
+                                        PlatformTransactionManager transactionManager,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${users.email-filter.minimum-capacity:100000}") long minimumCapacity,
+                                        @Value("${users.email-filter.single-node:true}") boolean singleNode) {
+        this.userRepository = userRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.minimumCapacity = minimumCapacity;
+        this.singleNode = singleNode;
+        this.filterNegatives = lookupCounter(meterRegistry, "filter_negative");
+        this.databaseAbsent = lookupCounter(meterRegistry, "database_absent");
+        this.databasePresent = lookupCounter(meterRegistry, "database_present");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        loading = true;
+        try {
+            long registered = Math.max(userRepository.count(), 1);
+            long newCapacity = Math.max(minimumCapacity, registered * 2);
+            BloomFilter filter = new BloomFilter(newCapacity, FALSE_POSITIVE_PROBABILITY);
+            long loaded = readOnlyTransaction.execute(status -> {
+                try (Stream<String> emails = userRepository.streamAllEmails()) {
+                    return emails.mapToLong(email -> {
+                        filter.put(email);
+                        return 1;
+                    }).sum();
+                }
+            });
+            capacity = newCapacity;
+            insertions.set(loaded);
+            registeredEmails = filter;
+            // emails registered while the table was being streamed may be missing from the snapshot
+            for (String email = registeredDuringLoad.poll(); email != null; email = registeredDuringLoad.poll()) {
+                filter.put(email);
+                insertions.incrementAndGet();
+            }
+            log.info("Loaded {} registered emails into the signup filter", loaded);
+        } finally {
+            loading = false;
+        }
+    }
+
+    @Override
+    public boolean isAvailable(String email) {
+        String normalized = User.normalizeEmail(email);
+        BloomFilter filter = registeredEmails;
+        if (filter != null && !filter.mightContain(normalized)) {
+            filterNegatives.increment();
+            // the filter only sees signups made on this node, so other nodes' registrations need the database
+            if (singleNode) {
+                return true;
+            }
+        }
+        boolean exists = userRepository.existsByEmail(normalized);
+        (exists ? databasePresent : databaseAbsent).increment();
+        return !exists;
+    }
+
+    @Override
+    public void registered(String email) {
+        String normalized = User.normalizeEmail(email);
+        if (loading) {
+            registeredDuringLoad.add(normalized);
+        }
+        BloomFilter filter = registeredEmails;
+        if (filter != null) {
+            filter.put(normalized);
+            insertions.incrementAndGet();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${users.email-filter.resize-check-interval:PT1M}")
+    public void resizeIfSaturated() {
+        if (registeredEmails != null && insertions.get() > capacity) {
+            load();
+        }
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("auth.email.lookup")
+                .description("Email existence checks by where they were answered")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
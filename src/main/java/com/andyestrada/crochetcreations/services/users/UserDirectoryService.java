@@ -0,0 +1,8 @@
+package com.andyestrada.crochetcreations.services.users;
+
+import com.andyestrada.crochetcreations.dto.response.UserPageResponseDto;
+import com.andyestrada.crochetcreations.entities.Role;
+
+public interface UserDirectoryService {
+    UserPageResponseDto listUsers(Long afterId, int limit, Role role, String emailPrefix);
+}
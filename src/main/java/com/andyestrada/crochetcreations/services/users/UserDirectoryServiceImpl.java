@@ -0,0 +1,61 @@
+package com.andyestrada.crochetcreations.services.users;
+
+import com.andyestrada.crochetcreations.dto.response.UserPageResponseDto;
+import com.andyestrada.crochetcreations.entities.Role;
+import com.andyestrada.crochetcreations.entities.User;
+import com.andyestrada.crochetcreations.repositories.UserRepository;
+import com.andyestrada.crochetcreations.repositories.projections.UserSummary;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+public class UserDirectoryServiceImpl implements UserDirectoryService {
+
+    private final UserRepository userRepository;
+    private final int maxPageSize;
+
+    public UserDirectoryServiceImpl(UserRepository userRepository,
+                                    @Value("${users.listing.max-page-size:200}") int maxPageSize) {
+        this.userRepository = userRepository;
+        this.maxPageSize = maxPageSize;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserPageResponseDto listUsers(Long afterId, int limit, Role role, String emailPrefix) {
+        int pageSize = Math.max(1, Math.min(limit, maxPageSize));
+        long after = afterId == null ? 0L : afterId;
+        // one extra row tells us whether another page exists without a count query
+        Pageable pageable = PageRequest.ofSize(pageSize + 1);
+        List<UserSummary> users = fetch(after, role, User.normalizeEmail(StringUtils.trimToNull(emailPrefix)), pageable);
+        Long nextAfterId = null;
+        if (users.size() > pageSize) {
+            users = users.subList(0, pageSize);
+            nextAfterId = users.get(pageSize - 1).getId();
+        }
+        return UserPageResponseDto.builder()
+                .users(users)
+                .nextAfterId(nextAfterId)
+                .build();
+    }
+
+    private List<UserSummary> fetch(long afterId, Role role, String emailPrefix, Pageable pageable) {
+        if (role != null && emailPrefix != null) {
+            return userRepository.findByRoleAndEmailStartingWithAndIdGreaterThanOrderByIdAsc(role, emailPrefix,
+                    afterId, pageable);
+        }
+        if (role != null) {
+            return userRepository.findByRoleAndIdGreaterThanOrderByIdAsc(role, afterId, pageable);
+        }
+        if (emailPrefix != null) {
+            return userRepository.findByEmailStartingWithAndIdGreaterThanOrderByIdAsc(emailPrefix, afterId, pageable);
+        }
+        return userRepository.findByIdGreaterThanOrderByIdAsc(afterId, pageable);
+    }
+}
@@ -0,0 +1,13 @@
+package com.andyestrada.crochetcreations.services.users;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface UserExportService {
+    long exportUsers(OutputStream output, Format format) throws IOException;
+
+    enum Format {
+        CSV,
+        NDJSON
+    }
+}
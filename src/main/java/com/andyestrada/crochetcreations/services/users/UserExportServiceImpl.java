@@ -0,0 +1,126 @@
+package com.andyestrada.crochetcreations.services.users;
+
+import com.andyestrada.crochetcreations.repositories.UserRepository;
+import com.andyestrada.crochetcreations.repositories.projections.UserSummary;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class UserExportServiceImpl implements UserExportService {
+
+    private static final String CSV_HEADER = "id,email,firstName,lastName,role";
+
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Counter exportedRows;
+
+    public UserExportServiceImpl(UserRepository userRepository,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.exportedRows = Counter.builder("users.export.rows")
+                .description("Users written by the admin export")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public long exportUsers(OutputStream output, Format format) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        try {
+            Long exported = readOnlyTransaction.execute(status -> {
+                try (Stream<UserSummary> users = userRepository.streamAllSummaries()) {
+                    return format == Format.CSV ? writeCsv(users.iterator(), writer) : writeNdjson(users.iterator(), writer);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+            return exported == null ? 0 : exported;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private long writeCsv(Iterator<UserSummary> users, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        long count = 0;
+        while (users.hasNext()) {
+            UserSummary user = users.next();
+            writer.write(String.valueOf(user.getId()));
+            writer.write(',');
+            writeCsvValue(writer, user.getEmail());
+            writer.write(',');
+            writeCsvValue(writer, user.getFirstName());
+            writer.write(',');
+            writeCsvValue(writer, user.getLastName());
+            writer.write(',');
+            writeCsvValue(writer, user.getRole() == null ? null : user.getRole().name());
+            writer.write('\n');
+            exportedRows.increment();
+            count++;
+        }
+        return count;
+    }
+
+    private long writeNdjson(Iterator<UserSummary> users, Writer writer) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .setRootValueSeparator(null)) {
+            while (users.hasNext()) {
+                UserSummary user = users.next();
+                generator.writeStartObject();
+                generator.writeNumberField("id", user.getId());
+                generator.writeStringField("email", user.getEmail());
+                generator.writeStringField("firstName", user.getFirstName());
+                generator.writeStringField("lastName", user.getLastName());
+                generator.writeStringField("role", user.getRole() == null ? null : user.getRole().name());
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                exportedRows.increment();
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static void writeCsvValue(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        // spreadsheets evaluate cells starting with these characters as formulas
+        if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        boolean quoted = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quoted) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,15 @@
+package com.andyestrada.crochetcreations.services.users;
+
+import com.andyestrada.crochetcreations.dto.response.UserImportResultDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface UserImportService {
+    UserImportResultDto importUsers(InputStream input, Format format) throws IOException;
+
+    enum Format {
+        CSV,
+        NDJSON
+    }
+}
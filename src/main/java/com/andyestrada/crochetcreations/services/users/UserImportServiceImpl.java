@@ -0,0 +1,278 @@
+package com.andyestrada.crochetcreations.services.users;
+
+import com.andyestrada.crochetcreations.dto.request.UserImportRowDto;
+import com.andyestrada.crochetcreations.dto.response.UserImportErrorDto;
+import com.andyestrada.crochetcreations.dto.response.UserImportResultDto;
+import com.andyestrada.crochetcreations.entities.Role;
+import com.andyestrada.crochetcreations.entities.User;
+import com.andyestrada.crochetcreations.repositories.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+
+@Service
+public class UserImportServiceImpl implements UserImportService, DisposableBean {
+
+    private static final Pattern BCRYPT_HASH = Pattern.compile("^\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}$");
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final EmailAvailabilityService emailAvailabilityService;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final ExecutorService hashingPool;
+    private final int maxReportedErrors;
+
+    public UserImportServiceImpl(UserRepository userRepository,
+                                 PasswordEncoder passwordEncoder,
+                                 EmailAvailabilityService emailAvailabilityService,
+                                 ObjectMapper objectMapper,
+                                 EntityManager entityManager,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${users.import.batch-size:500}") int batchSize,
+                                 @Value("${users.import.hashing-parallelism:0}") int hashingParallelism,
+                                 @Value("${users.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.emailAvailabilityService = emailAvailabilityService;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.hashingPool = Executors.newFixedThreadPool(
+                hashingParallelism > 0 ? hashingParallelism : Runtime.getRuntime().availableProcessors(),
+                new CustomizableThreadFactory("user-import-"));
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    @Override
+    public UserImportResultDto importUsers(InputStream input, Format format) throws IOException {
+        ImportReport report = new ImportReport(maxReportedErrors);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            List<PendingUser> batch = new ArrayList<>(batchSize);
+            List<String> header = null;
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (format == Format.CSV && header == null) {
+                    header = parseCsvLine(line).stream().map(String::trim).toList();
+                    continue;
+                }
+                UserImportRowDto row;
+                try {
+                    row = format == Format.CSV
+                            ? toRow(header, parseCsvLine(line))
+                            : objectMapper.readValue(line, UserImportRowDto.class);
+                } catch (JsonProcessingException | IllegalArgumentException e) {
+                    report.fail(lineNumber, null, "Malformed row");
+                    continue;
+                }
+                PendingUser pending = validate(lineNumber, row, report);
+                if (pending != null) {
+                    batch.add(pending);
+                }
+                if (batch.size() >= batchSize) {
+                    persistBatch(batch, report);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                persistBatch(batch, report);
+            }
+        }
+        return report.toDto();
+    }
+
+    @Override
+    public void destroy() {
+        hashingPool.shutdownNow();
+    }
+
+    private PendingUser validate(long lineNumber, UserImportRowDto row, ImportReport report) {
+        String email = User.normalizeEmail(StringUtils.trimToNull(row.getEmail()));
+        if (email == null || !email.contains("@")) {
+            report.fail(lineNumber, email, "A valid email is required");
+            return null;
+        }
+        if (StringUtils.isBlank(row.getPassword())) {
+            report.fail(lineNumber, email, "A password is required");
+            return null;
+        }
+        Role role;
+        try {
+            role = StringUtils.isBlank(row.getRole())
+                    ? Role.USER : Role.valueOf(row.getRole().trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            report.fail(lineNumber, email, "Unknown role " + row.getRole());
+            return null;
+        }
+        User user = User.builder()
+                .firstName(row.getFirstName())
+                .lastName(row.getLastName())
+                .email(email)
+                .role(role)
+                .build();
+        return new PendingUser(lineNumber, user, row.getPassword());
+    }
+
+    private void persistBatch(List<PendingUser> batch, ImportReport report) {
+        Map<String, PendingUser> unique = new LinkedHashMap<>();
+        for (PendingUser pending : batch) {
+            if (unique.putIfAbsent(pending.user().getEmail(), pending) != null) {
+                report.fail(pending.line(), pending.user().getEmail(), "Duplicate email in import");
+            }
+        }
+        for (String existing : userRepository.findExistingEmails(unique.keySet())) {
+            PendingUser pending = unique.remove(existing);
+            report.fail(pending.line(), existing, "Email already registered");
+        }
+        if (unique.isEmpty()) {
+            return;
+        }
+
+        List<CompletableFuture<Void>> hashing = new ArrayList<>(unique.size());
+        for (PendingUser pending : unique.values()) {
+            if (BCRYPT_HASH.matcher(pending.password()).matches()) {
+                pending.user().setPassword(pending.password());
+            } else {
+                hashing.add(CompletableFuture.runAsync(
+                        () -> pending.user().setPassword(passwordEncoder.encode(pending.password())), hashingPool));
+            }
+        }
+        CompletableFuture.allOf(hashing.toArray(CompletableFuture[]::new)).join();
+
+        List<User> users = unique.values().stream().map(PendingUser::user).toList();
+        try {
+            // flushing through the repository lets Spring translate constraint violations
+            transactionTemplate.executeWithoutResult(status -> userRepository.saveAllAndFlush(users));
+            report.imported(users.size());
+            users.forEach(user -> emailAvailabilityService.registered(user.getEmail()));
+        } catch (DataIntegrityViolationException e) {
+            entityManager.clear();
+            persistIndividually(unique.values(), report);
+        } finally {
+            entityManager.clear();
+        }
+    }
+
+    private void persistIndividually(Collection<PendingUser> pendingUsers, ImportReport report) {
+        for (PendingUser pending : pendingUsers) {
+            pending.user().setId(null);
+            try {
+                transactionTemplate.executeWithoutResult(status -> userRepository.saveAndFlush(pending.user()));
+                report.imported(1);
+                emailAvailabilityService.registered(pending.user().getEmail());
+            } catch (DataIntegrityViolationException e) {
+                report.fail(pending.line(), pending.user().getEmail(), "Email already registered");
+            } finally {
+                entityManager.clear();
+            }
+        }
+    }
+
+    private static UserImportRowDto toRow(List<String> header, List<String> values) {
+        if (header == null || values.size() > header.size()) {
+            throw new IllegalArgumentException("Row does not match header");
+        }
+        UserImportRowDto row = new UserImportRowDto();
+        for (int i = 0; i < values.size(); i++) {
+            String value = values.get(i);
+            switch (header.get(i).toLowerCase(Locale.ROOT)) {
+                case "firstname" -> row.setFirstName(value);
+                case "lastname" -> row.setLastName(value);
+                case "email" -> row.setEmail(value);
+                case "password" -> row.setPassword(value);
+                case "role" -> row.setRole(value);
+                default -> {
+                }
+            }
+        }
+        return row;
+    }
+
+    private static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted value");
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    private record PendingUser(long line, User user, String password) {
+    }
+
+    private static class ImportReport {
+        private final int maxReportedErrors;
+        private final List<UserImportErrorDto> errors = new ArrayList<>();
+        private long imported;
+        private long failed;
+
+        ImportReport(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        void imported(int count) {
+            imported += count;
+        }
+
+        void fail(long line, String email, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(UserImportErrorDto.builder().line(line).email(email).message(message).build());
+            }
+        }
+
+        UserImportResultDto toDto() {
+            return UserImportResultDto.builder().imported(imported).failed(failed).errors(errors).build();
+        }
+    }
+}
@@ -3,36 +3,84 @@ package com.andyestrada.crochetcreations.startuprunners;
 import com.andyestrada.crochetcreations.entities.Role;
 import com.andyestrada.crochetcreations.entities.User;
 import com.andyestrada.crochetcreations.repositories.UserRepository;
+import com.andyestrada.crochetcreations.services.users.EmailAvailabilityService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class CommandLineAppStartupRunner implements CommandLineRunner {
 
+    private static final String SEED_PASSWORD = "12345";
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final EmailAvailabilityService emailAvailabilityService;
+
+    @Value("${seed.enabled:true}")
+    private boolean enabled;
+
+    @Value("${seed.async:false}")
+    private boolean async;
+
+    @Value("${seed.password-hash:}")
+    private String passwordHash;
 
     @Override
     public void run(String... args) throws Exception {
-        User admin = User.builder()
-                .firstName("Admin")
-                .lastName("User")
-                .email("admin@email.com")
-                .password(passwordEncoder.encode("12345"))
-                .role(Role.ADMIN)
-                .build();
-        userRepository.save(admin);
-
-        User user = User.builder()
-                .firstName("Regular")
-                .lastName("User")
-                .email("user@email.com")
-                .password(passwordEncoder.encode("12345"))
-                .role(Role.USER)
-                .build();
-        userRepository.save(user);
+        if (!enabled) {
+            return;
+        }
+        if (async) {
+            CompletableFuture.runAsync(this::seedUsers)
+                    .exceptionally(e -> {
+                        log.error("Seeding users failed", e);
+                        return null;
+                    });
+        } else {
+            seedUsers();
+        }
+    }
+
+    private void seedUsers() {
+        List<User> seeds = List.of(
+                User.builder()
+                        .firstName("Admin")
+                        .lastName("User")
+                        .email("admin@email.com")
+                        .role(Role.ADMIN)
+                        .build(),
+                User.builder()
+                        .firstName("Regular")
+                        .lastName("User")
+                        .email("user@email.com")
+                        .role(Role.USER)
+                        .build());
+        Set<String> existing = userRepository.findExistingEmails(seeds.stream().map(User::getEmail).toList());
+        List<User> missing = seeds.stream().filter(user -> !existing.contains(user.getEmail())).toList();
+        if (missing.isEmpty()) {
+            return;
+        }
+        missing.stream()
+                .map(user -> CompletableFuture.runAsync(() -> user.setPassword(encodeSeedPassword())))
+                .toList()
+                .forEach(CompletableFuture::join);
+        userRepository.saveAll(missing);
+        missing.forEach(user -> emailAvailabilityService.registered(user.getEmail()));
+        log.info("Seeded {} users", missing.size());
+    }
+
+    private String encodeSeedPassword() {
+        return StringUtils.isNotEmpty(passwordHash) ? passwordHash : passwordEncoder.encode(SEED_PASSWORD);
     }
 }
@@ -0,0 +1,45 @@
+package com.andyestrada.crochetcreations.startuprunners;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class StartupTimelineReporter {
+
+    @Value("${startup.timeline.top-steps:15}")
+    private int topSteps;
+
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        if (!(event.getApplicationContext().getApplicationStartup() instanceof BufferingApplicationStartup startup)) {
+            return;
+        }
+        StartupTimeline timeline = startup.getBufferedTimeline();
+        String slowest = timeline.getEvents().stream()
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(topSteps)
+                .map(StartupTimelineReporter::format)
+                .collect(Collectors.joining(System.lineSeparator()));
+        log.info("Application ready {} ms after start; slowest startup steps:{}{}",
+                event.getTimeTaken().toMillis(), System.lineSeparator(), slowest);
+    }
+
+    private static String format(StartupTimeline.TimelineEvent event) {
+        StringBuilder line = new StringBuilder(String.format("%6d ms  %s",
+                event.getDuration().toMillis(), event.getStartupStep().getName()));
+        for (StartupStep.Tag tag : event.getStartupStep().getTags()) {
+            line.append(' ').append(tag.getKey()).append('=').append(tag.getValue());
+        }
+        return line.toString();
+    }
+}
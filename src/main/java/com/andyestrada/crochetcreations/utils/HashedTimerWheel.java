@@ -0,0 +1,60 @@
+package com.andyestrada.crochetcreations.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+// deadlines further than one rotation away stay in their bucket until a later rotation reaches them
+public class HashedTimerWheel<T> {
+
+    private final Queue<Entry<T>>[] buckets;
+    private final long tickMillis;
+    private final int mask;
+    private volatile long lastTick = -1;
+
+    @SuppressWarnings("unchecked")
+    public HashedTimerWheel(int requestedSize, long tickMillis) {
+        int size = requestedSize <= 2 ? 2 : Integer.highestOneBit(requestedSize - 1) << 1;
+        this.buckets = new Queue[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.tickMillis = tickMillis;
+        this.mask = size - 1;
+    }
+
+    public void schedule(T item, long deadlineMillis) {
+        // a deadline in an already processed tick goes to the next one rather than a full rotation later
+        long tick = Math.max(deadlineMillis / tickMillis, lastTick + 1);
+        buckets[(int) (tick & mask)].add(new Entry<>(item, deadlineMillis));
+    }
+
+    public synchronized void advance(long nowMillis, Consumer<T> expired) {
+        long nowTick = nowMillis / tickMillis;
+        long from = lastTick < 0 ? nowTick - mask : lastTick + 1;
+        // after a long pause every bucket is due once; there is no point in visiting any twice
+        from = Math.max(from, nowTick - mask);
+        lastTick = nowTick;
+        List<Entry<T>> notDue = new ArrayList<>();
+        for (long tick = from; tick <= nowTick; tick++) {
+            Queue<Entry<T>> bucket = buckets[(int) (tick & mask)];
+            for (Entry<T> entry = bucket.poll(); entry != null; entry = bucket.poll()) {
+                if (entry.deadlineMillis() <= nowMillis) {
+                    expired.accept(entry.item());
+                } else {
+                    notDue.add(entry);
+                }
+            }
+        }
+        // entries for a later rotation return to their own bucket, ones due later in this tick move to the next
+        for (Entry<T> entry : notDue) {
+            long tick = Math.max(entry.deadlineMillis() / tickMillis, nowTick + 1);
+            buckets[(int) (tick & mask)].add(entry);
+        }
+    }
+
+    private record Entry<T>(T item, long deadlineMillis) {
+    }
+}
@@ -0,0 +1,147 @@
+package com.andyestrada.crochetcreations.configuration.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class ReplicaRoutingDataSourceUnitTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    public void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    public void shouldSendWritesToThePrimary() throws SQLException {
+        //given
+        HikariDataSource primary = pool(ReplicaRoutingDataSource.PRIMARY, 0);
+        Connection primaryConnection = connectionFrom(primary);
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary,
+                List.of(pool("replica-0", 0)), meterRegistry);
+        //when
+        Connection connection = dataSource.getConnection();
+        //then
+        assertThat(connection, is(primaryConnection));
+    }
+
+    @Test
+    public void shouldSendReadsToTheLeastBusyReplica() throws SQLException {
+        //given
+        HikariDataSource busy = pool("replica-0", 5);
+        HikariDataSource idle = pool("replica-1", 1);
+        connectionFrom(busy);
+        Connection idleConnection = connectionFrom(idle);
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(
+                pool(ReplicaRoutingDataSource.PRIMARY, 0), List.of(busy, idle), meterRegistry);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        //when
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+        //then
+        assertThat(first, is(idleConnection));
+        assertThat(second, is(idleConnection));
+        assertThat(meterRegistry.get("datasource.routing.connections").tag("target", "replica").counter().count(), is(2.0));
+    }
+
+    @Test
+    public void shouldFailOverToThePrimaryAndRecoverAfterHealthCheck() throws SQLException {
+        //given
+        HikariDataSource primary = pool(ReplicaRoutingDataSource.PRIMARY, 0);
+        Connection primaryConnection = connectionFrom(primary);
+        HikariDataSource replica = pool("replica-0", 0);
+        Connection replicaConnection = mock(Connection.class);
+        given(replicaConnection.isValid(1)).willReturn(true);
+        given(replica.getConnection())
+                .willThrow(new SQLException("Connection refused"))
+                .willReturn(replicaConnection);
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, List.of(replica), meterRegistry);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        //when
+        Connection failedOver = dataSource.getConnection();
+        Connection whileDown = dataSource.getConnection();
+        dataSource.checkReplicas();
+        Connection recovered = dataSource.getConnection();
+        //then
+        assertThat(failedOver, is(primaryConnection));
+        assertThat(whileDown, is(primaryConnection));
+        assertThat(recovered, is(replicaConnection));
+        assertThat(meterRegistry.get("datasource.routing.failovers").counter().count(), is(1.0));
+    }
+
+    @Test
+    public void shouldMarkInvalidReplicasDownDuringHealthCheck() throws SQLException {
+        //given
+        HikariDataSource primary = pool(ReplicaRoutingDataSource.PRIMARY, 0);
+        Connection primaryConnection = connectionFrom(primary);
+        HikariDataSource replica = pool("replica-0", 0);
+        Connection staleConnection = connectionFrom(replica);
+        given(staleConnection.isValid(1)).willReturn(false);
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, List.of(replica), meterRegistry);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        //when
+        dataSource.checkReplicas();
+        Connection connection = dataSource.getConnection();
+        //then
+        assertThat(connection, is(primaryConnection));
+    }
+
+    @Test
+    public void shouldProbeReplicasOffTheCallersThread() throws Exception {
+        //given
+        HikariDataSource primary = pool(ReplicaRoutingDataSource.PRIMARY, 0);
+        Connection primaryConnection = connectionFrom(primary);
+        HikariDataSource replica = pool("replica-0", 0);
+        CountDownLatch probed = new CountDownLatch(1);
+        given(replica.getConnection()).willAnswer(invocation -> {
+            probed.countDown();
+            Thread.sleep(200);
+            throw new SQLException("Connection is not available, request timed out");
+        });
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, List.of(replica), meterRegistry);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        //when
+        long start = System.nanoTime();
+        dataSource.startHealthChecks(Duration.ofMillis(10));
+        long startupMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        boolean wasProbed = probed.await(5, TimeUnit.SECONDS);
+        Thread.sleep(400);
+        Connection connection = dataSource.getConnection();
+        dataSource.destroy();
+        //then
+        assertThat(startupMillis, lessThan(100L));
+        assertThat(wasProbed, is(true));
+        assertThat(connection, is(primaryConnection));
+    }
+
+    private static HikariDataSource pool(String name, int activeConnections) {
+        HikariDataSource dataSource = mock(HikariDataSource.class);
+        HikariPoolMXBean poolBean = mock(HikariPoolMXBean.class);
+        given(dataSource.getPoolName()).willReturn(name);
+        given(dataSource.getHikariPoolMXBean()).willReturn(poolBean);
+        given(poolBean.getActiveConnections()).willReturn(activeConnections);
+        return dataSource;
+    }
+
+    private static Connection connectionFrom(HikariDataSource dataSource) throws SQLException {
+        Connection connection = mock(Connection.class);
+        given(dataSource.getConnection()).willReturn(connection);
+        return connection;
+    }
+}
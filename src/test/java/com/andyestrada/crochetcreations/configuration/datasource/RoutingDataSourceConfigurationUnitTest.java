@@ -0,0 +1,58 @@
+package com.andyestrada.crochetcreations.configuration.datasource;
+
+import com.andyestrada.crochetcreations.CrochetCreationsApplication;
+import com.andyestrada.crochetcreations.repositories.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest(
+        classes = CrochetCreationsApplication.class,
+        properties = {
+                "datasource.routing.enabled=true",
+                "spring.datasource.url=jdbc:h2:mem:routing;DB_CLOSE_DELAY=-1",
+                "datasource.routing.replicas[0].url=jdbc:h2:mem:routing;DB_CLOSE_DELAY=-1"
+        })
+public class RoutingDataSourceConfigurationUnitTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void shouldServeReadOnlyTransactionsFromTheReplica() {
+        //given
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        double replicaConnections = connections("replica");
+        double primaryConnections = connections(ReplicaRoutingDataSource.PRIMARY);
+        //when
+        boolean found = readOnly.execute(status -> userRepository.findAuthUserByEmail("admin@email.com").isPresent());
+        //then
+        assertThat(dataSource, instanceOf(LazyConnectionDataSourceProxy.class));
+        assertThat(found, is(true));
+        assertThat(connections("replica"), is(replicaConnections + 1));
+        assertThat(connections(ReplicaRoutingDataSource.PRIMARY), is(primaryConnections));
+    }
+
+    private double connections(String target) {
+        return meterRegistry.get("datasource.routing.connections").tag("target", target).counter().count();
+    }
+}
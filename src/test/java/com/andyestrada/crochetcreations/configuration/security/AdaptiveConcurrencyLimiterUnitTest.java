@@ -0,0 +1,59 @@
+package com.andyestrada.crochetcreations.configuration.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class AdaptiveConcurrencyLimiterUnitTest {
+
+    private static final long MILLISECOND = Duration.ofMillis(1).toNanos();
+
+    @Test
+    public void shouldRejectOnceTheLimitIsInFlight() {
+        //given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 0.2, 10, Duration.ofSeconds(1));
+        //when
+        boolean first = limiter.tryAcquire();
+        boolean second = limiter.tryAcquire();
+        boolean third = limiter.tryAcquire();
+        //then
+        assertThat(first, is(true));
+        assertThat(second, is(true));
+        assertThat(third, is(false));
+        limiter.release(0, MILLISECOND);
+        assertThat(limiter.tryAcquire(), is(true));
+    }
+
+    @Test
+    public void shouldGrowWhileLatencyHoldsAndShrinkWhenItRises() {
+        //given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 100, 0.5, 10, Duration.ofSeconds(1));
+        long now = 0;
+        //when
+        for (int window = 0; window < 5; window++) {
+            now = saturate(limiter, now, 10 * MILLISECOND);
+        }
+        int grownLimit = limiter.getLimit();
+        for (int window = 0; window < 5; window++) {
+            now = saturate(limiter, now, 100 * MILLISECOND);
+        }
+        //then
+        assertThat(grownLimit, greaterThan(10));
+        assertThat(limiter.getLimit(), lessThan(grownLimit));
+        assertThat(limiter.getInFlight(), is(0));
+    }
+
+    private static long saturate(AdaptiveConcurrencyLimiter limiter, long now, long rttNanos) {
+        int acquired = 0;
+        while (limiter.tryAcquire()) {
+            acquired++;
+        }
+        for (int i = 0; i < acquired; i++) {
+            limiter.release(now, now + rttNanos);
+        }
+        return now + rttNanos;
+    }
+}
@@ -0,0 +1,95 @@
+package com.andyestrada.crochetcreations.configuration.security;
+
+import com.andyestrada.crochetcreations.entities.Role;
+import com.andyestrada.crochetcreations.entities.User;
+import com.andyestrada.crochetcreations.services.authentication.JwtService;
+import com.andyestrada.crochetcreations.services.authentication.JwtServiceImpl;
+import com.andyestrada.crochetcreations.services.authentication.TokenRevocationServiceImpl;
+import com.andyestrada.crochetcreations.services.authentication.UserService;
+import com.andyestrada.crochetcreations.services.authentication.VerifiedToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+public class JwtAuthenticationFilterUnitTest {
+
+    private static final String SIGNING_KEY = "413F4428472B4B6250655368566D5970337336763979244226452948404D6351";
+
+    private final JwtService jwtService = spy(new JwtServiceImpl(SIGNING_KEY, Duration.ofMinutes(24),
+            new SimpleMeterRegistry()));
+    private final UserService userService = mock(UserService.class);
+    private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtService, userService,
+            new TokenRevocationServiceImpl(16), new SimpleMeterRegistry());
+    private final User user = User.builder().id(1L).email("test@email.com").password("hash").role(Role.USER).build();
+
+    @AfterEach
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void shouldAuthenticateValidTokenAndSkipPublicRoutes() throws Exception {
+        //given
+        given(userService.userDetailsService()).willReturn(email -> user);
+        String header = "Bearer " + jwtService.generateToken(user);
+        MockHttpServletRequest publicRequest = request("POST", "/api/v1/auth/signin", header);
+        MockHttpServletRequest protectedRequest = request("GET", "/api/v1/user/cart", header);
+        MockFilterChain protectedChain = new MockFilterChain();
+        //when
+        filter.doFilter(publicRequest, new MockHttpServletResponse(), new MockFilterChain());
+        boolean authenticatedOnPublicRoute = SecurityContextHolder.getContext().getAuthentication() != null;
+        filter.doFilter(protectedRequest, new MockHttpServletResponse(), protectedChain);
+        //then
+        assertThat(authenticatedOnPublicRoute, is(false));
+        assertThat(protectedChain.getRequest(), notNullValue());
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal(), is(user));
+        assertThat(protectedRequest.getAttribute(VerifiedToken.REQUEST_ATTRIBUTE), notNullValue());
+        verify(jwtService, times(1)).verifyToken(anyString());
+    }
+
+    @Test
+    public void shouldRejectUnusableTokensWith401() throws Exception {
+        //given
+        String valid = jwtService.generateToken(user);
+        String tampered = "Bearer " + valid.substring(0, valid.length() - 2) + "AA";
+        String malformed = "Bearer not-a-jwt";
+        String oversized = "Bearer " + "a".repeat(5000) + ".b.c";
+        //when
+        MockHttpServletResponse tamperedResponse = filter(tampered);
+        MockHttpServletResponse malformedResponse = filter(malformed);
+        MockHttpServletResponse oversizedResponse = filter(oversized);
+        //then
+        assertThat(tamperedResponse.getStatus(), is(401));
+        assertThat(tamperedResponse.getHeader("WWW-Authenticate"), containsString("invalid_token"));
+        assertThat(malformedResponse.getStatus(), is(401));
+        assertThat(oversizedResponse.getStatus(), is(401));
+        verify(jwtService, times(1)).verifyToken(anyString());
+    }
+
+    private MockHttpServletResponse filter(String header) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request("GET", "/api/v1/user/cart", header), response, chain);
+        assertThat(chain.getRequest(), nullValue());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String uri, String header) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setServletPath(uri);
+        request.addHeader("Authorization", header);
+        return request;
+    }
+}
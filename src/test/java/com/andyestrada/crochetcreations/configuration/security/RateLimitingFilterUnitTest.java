@@ -0,0 +1,80 @@
+package com.andyestrada.crochetcreations.configuration.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class RateLimitingFilterUnitTest {
+
+    private final RateLimitingFilter filter = new RateLimitingFilter(properties());
+
+    @Test
+    public void shouldLimitTheEmailThatTheControllerBinds() throws Exception {
+        //given
+        filter.doFilter(signin("{\"email\":\"victim@email.com\"}", false), new MockHttpServletResponse(),
+                new MockFilterChain());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        //when
+        filter.doFilter(signin("{\"email\":\"junk@email.com\",\"email\":\"Victim@Email.com\"}", false), response,
+                new MockFilterChain());
+        //then
+        assertThat(response.getStatus(), is(429));
+        assertThat(response.getContentType(), is(MediaType.APPLICATION_PROBLEM_JSON_VALUE));
+        assertThat(response.getHeader("Retry-After"), is("60"));
+    }
+
+    @Test
+    public void shouldLimitChunkedBodiesAndRejectOversizedOnes() throws Exception {
+        //given
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(signin("{\"email\":\"chunked@email.com\"}", true), new MockHttpServletResponse(), chain);
+        MockHttpServletResponse limited = new MockHttpServletResponse();
+        MockHttpServletResponse oversized = new MockHttpServletResponse();
+        MockFilterChain oversizedChain = new MockFilterChain();
+        //when
+        filter.doFilter(signin("{\"email\":\"chunked@email.com\"}", true), limited, new MockFilterChain());
+        filter.doFilter(signin("{\"email\":\"big@email.com\",\"pad\":\"" + "x".repeat(200) + "\"}", true),
+                oversized, oversizedChain);
+        //then
+        assertThat(new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8),
+                is("{\"email\":\"chunked@email.com\"}"));
+        assertThat(limited.getStatus(), is(429));
+        assertThat(oversized.getStatus(), is(413));
+        assertThat(oversizedChain.getRequest(), is(nullValue()));
+    }
+
+    private static MockHttpServletRequest signin(String body, boolean chunked) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/auth/signin") {
+            @Override
+            public long getContentLengthLong() {
+                return chunked ? -1 : super.getContentLengthLong();
+            }
+        };
+        request.setServletPath("/api/v1/auth/signin");
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private static RateLimitProperties properties() {
+        RateLimitProperties.Limit email = new RateLimitProperties.Limit();
+        email.setCapacity(1);
+        email.setRefillInterval(Duration.ofSeconds(60));
+        RateLimitProperties.Route route = new RateLimitProperties.Route();
+        route.setPath("/api/v1/auth/signin");
+        route.setEmail(email);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setMaxBodyBytes(128);
+        properties.setRoutes(List.of(route));
+        return properties;
+    }
+}
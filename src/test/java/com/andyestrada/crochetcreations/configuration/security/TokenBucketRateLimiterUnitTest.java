@@ -0,0 +1,57 @@
+package com.andyestrada.crochetcreations.configuration.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class TokenBucketRateLimiterUnitTest {
+
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    @Test
+    public void shouldAllowBurstThenRejectUntilRefilled() {
+        //given
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(3, Duration.ofSeconds(1), 10);
+        long now = 1_000 * SECOND;
+        //when
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("127.0.0.1", now), is(0L));
+        }
+        long waitNanos = limiter.tryAcquire("127.0.0.1", now);
+        //then
+        assertThat(waitNanos, is(SECOND));
+        assertThat(limiter.tryAcquire("127.0.0.2", now), is(0L));
+        assertThat(limiter.tryAcquire("127.0.0.1", now + SECOND), is(0L));
+    }
+
+    @Test
+    public void shouldEvictOnlyFullBuckets() {
+        //given
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, Duration.ofSeconds(1), 10);
+        long now = 1_000 * SECOND;
+        limiter.tryAcquire("idle", now);
+        limiter.tryAcquire("busy", now + 5 * SECOND);
+        //when
+        limiter.evictIdle(now + 2 * SECOND);
+        //then
+        assertThat(limiter.size(), is(1));
+    }
+
+    @Test
+    public void shouldAdmitNewKeysOnceTheTableIsFull() {
+        //given
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, Duration.ofMinutes(1), 10);
+        long now = 1_000 * SECOND;
+        for (int i = 0; i < 1_000; i++) {
+            limiter.tryAcquire("junk-" + i, now);
+        }
+        //when
+        long waitNanos = limiter.tryAcquire("user@email.com", now);
+        //then
+        assertThat(waitNanos, is(0L));
+        assertThat(limiter.size(), lessThanOrEqualTo(10));
+    }
+}
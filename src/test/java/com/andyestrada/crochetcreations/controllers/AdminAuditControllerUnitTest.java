@@ -0,0 +1,73 @@
+package com.andyestrada.crochetcreations.controllers;
+
+import com.andyestrada.crochetcreations.CrochetCreationsApplication;
+import com.andyestrada.crochetcreations.services.audit.AuditService;
+import com.andyestrada.crochetcreations.services.authentication.JwtService;
+import com.andyestrada.crochetcreations.services.authentication.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.MOCK,
+        classes = CrochetCreationsApplication.class)
+@AutoConfigureMockMvc
+public class AdminAuditControllerUnitTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserService userService;
+
+    @MockBean
+    private AuditService auditService;
+
+    @Test
+    public void shouldStreamTheExportToAnAdmin() throws Exception {
+        //given
+        String token = jwtService.generateToken(userService.userDetailsService().loadUserByUsername("admin@email.com"));
+        willAnswer(invocation -> {
+            OutputStream output = invocation.getArgument(4);
+            output.write("{\"type\":\"SIGNIN_SUCCESS\"}\n{\"type\":\"ADMIN_ACCESS\"}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).given(auditService).export(any(), any(), any(), any(), any());
+        MvcResult started = mockMvc.perform(get("/api/v1/admin/audit/export")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        //when
+        ResultActions result = mockMvc.perform(asyncDispatch(started));
+        //then
+        result
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string("{\"type\":\"SIGNIN_SUCCESS\"}\n{\"type\":\"ADMIN_ACCESS\"}\n"));
+    }
+
+    @Test
+    public void shouldRejectTheExportForAnonymousCallers() throws Exception {
+        //when
+        ResultActions result = mockMvc.perform(get("/api/v1/admin/audit/export"));
+        //then
+        result.andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,110 @@
+package com.andyestrada.crochetcreations.controllers;
+
+import com.andyestrada.crochetcreations.CrochetCreationsApplication;
+import com.andyestrada.crochetcreations.services.authentication.JwtService;
+import com.andyestrada.crochetcreations.services.authentication.UserService;
+import com.andyestrada.crochetcreations.services.users.UserExportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.MOCK,
+        classes = CrochetCreationsApplication.class)
+@AutoConfigureMockMvc
+public class AdminUserControllerUnitTest {
+
+    private static final String CSV = "id,email,firstName,lastName,role\n1,admin@email.com,Admin,User,ADMIN\n";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserService userService;
+
+    @MockBean
+    private UserExportService userExportService;
+
+    private String token;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        token = jwtService.generateToken(userService.userDetailsService().loadUserByUsername("admin@email.com"));
+        willAnswer(invocation -> {
+            OutputStream output = invocation.getArgument(0);
+            output.write(CSV.getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).given(userExportService).exportUsers(any(), eq(UserExportService.Format.CSV));
+    }
+
+    @Test
+    public void shouldStreamTheExportToAnAdmin() throws Exception {
+        //given
+        MvcResult started = mockMvc.perform(get("/api/v1/admin/users/export")
+                        .param("format", "CSV")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        //when
+        ResultActions result = mockMvc.perform(asyncDispatch(started));
+        //then
+        assertThat(started.getRequest().getAsyncContext().getTimeout(), is(600_000L));
+        result
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users.csv\""))
+                .andExpect(content().string(CSV));
+    }
+
+    @Test
+    public void shouldCompressTheExportOnRequest() throws Exception {
+        //given
+        MvcResult started = mockMvc.perform(get("/api/v1/admin/users/export")
+                        .param("format", "CSV")
+                        .param("gzip", "true")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        //when
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn();
+        //then
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            assertThat(new String(input.readAllBytes(), StandardCharsets.UTF_8), is(CSV));
+        }
+    }
+
+    @Test
+    public void shouldRejectTheExportForAnonymousCallers() throws Exception {
+        //when
+        ResultActions result = mockMvc.perform(get("/api/v1/admin/users/export"));
+        //then
+        result.andExpect(status().isForbidden());
+    }
+}
@@ -1,6 +1,7 @@
 package com.andyestrada.crochetcreations.controllers;
 
 import com.andyestrada.crochetcreations.CrochetCreationsApplication;
+import com.andyestrada.crochetcreations.dto.request.RefreshTokenRequestDto;
 import com.andyestrada.crochetcreations.dto.request.SignInRequestDto;
 import com.andyestrada.crochetcreations.dto.response.JwtAuthenticationResponseDto;
 import com.andyestrada.crochetcreations.services.authentication.AuthenticationService;
@@ -18,6 +19,7 @@ import org.springframework.test.web.servlet.ResultActions;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -46,11 +48,11 @@ public class AuthenticationControllerUnitTest {
         given(authenticationService.signin(request))
                 .willReturn(JwtAuthenticationResponseDto.builder().token(jwtToken).build());
         //when
-        ResultActions result = mockMvc.perform(post("/api/v1/auth/signin")
+        ResultActions result = mockMvc.perform(asyncDispatch(mockMvc.perform(post("/api/v1/auth/signin")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(mapper.writeValueAsString(request))
                 .characterEncoding("utf-8")
-                .accept(MediaType.APPLICATION_JSON));
+                .accept(MediaType.APPLICATION_JSON)).andReturn()));
         //then
         result
                 .andExpect(status().isOk())
@@ -58,4 +60,24 @@ public class AuthenticationControllerUnitTest {
 
     }
 
+    @Test
+    public void shouldRotateTokensOnRefresh() throws Exception {
+        //given
+        RefreshTokenRequestDto request = RefreshTokenRequestDto.builder().refreshToken("oldRefreshToken").build();
+        given(authenticationService.refresh(request))
+                .willReturn(JwtAuthenticationResponseDto.builder()
+                        .token("jwtTokenString").refreshToken("newRefreshToken").build());
+        //when
+        ResultActions result = mockMvc.perform(post("/api/v1/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(request))
+                .characterEncoding("utf-8")
+                .accept(MediaType.APPLICATION_JSON));
+        //then
+        result
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token", is("jwtTokenString")))
+                .andExpect(jsonPath("$.refreshToken", is("newRefreshToken")));
+    }
+
 }
@@ -0,0 +1,177 @@
+package com.andyestrada.crochetcreations.controllers;
+
+import com.andyestrada.crochetcreations.CrochetCreationsApplication;
+import com.andyestrada.crochetcreations.services.images.ImageContent;
+import com.andyestrada.crochetcreations.services.images.ImageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.MOCK,
+        classes = CrochetCreationsApplication.class)
+@AutoConfigureMockMvc
+public class ImageControllerUnitTest {
+
+    private static final String IMAGE_ID = "a1b2c3";
+    private static final String ETAG = "\"a1b2c3\"";
+    private static final String CONTENT = "0123456789";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ImageService imageService;
+
+    @TempDir
+    private Path directory;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        Path file = Files.writeString(directory.resolve(IMAGE_ID), CONTENT, StandardCharsets.US_ASCII);
+        given(imageService.load(IMAGE_ID, null))
+                .willReturn(new ImageContent(ETAG, MediaType.IMAGE_PNG, CONTENT.length(), file, null));
+        given(imageService.load(IMAGE_ID, 100))
+                .willReturn(new ImageContent(ETAG, MediaType.IMAGE_PNG, CONTENT.length(), null,
+                        CONTENT.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Test
+    public void shouldServeTheWholeImage() throws Exception {
+        //when
+        ResultActions result = mockMvc.perform(get("/api/v1/images/" + IMAGE_ID));
+        //then
+        result
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(content().contentType(MediaType.IMAGE_PNG))
+                .andExpect(content().string(CONTENT));
+    }
+
+    @Test
+    public void shouldServeARangeOfTheFile() throws Exception {
+        //when
+        ResultActions result = mockMvc.perform(get("/api/v1/images/" + IMAGE_ID)
+                .header(HttpHeaders.RANGE, "bytes=2-5"));
+        //then
+        result
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 4))
+                .andExpect(content().string("2345"));
+    }
+
+    @Test
+    public void shouldServeASuffixRangeOfAThumbnail() throws Exception {
+        //when
+        ResultActions result = mockMvc.perform(get("/api/v1/images/" + IMAGE_ID).param("width", "100")
+                .header(HttpHeaders.RANGE, "bytes=-3"));
+        //then
+        result
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 7-9/10"))
+                .andExpect(content().string("789"));
+    }
+
+    @Test
+    public void shouldIgnoreARangeInAnUnknownUnit() throws Exception {
+        //when
+        ResultActions result = mockMvc.perform(get("/api/v1/images/" + IMAGE_ID)
+                .header(HttpHeaders.RANGE, "items=0-9"));
+        //then
+        result
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+                .andExpect(content().string(CONTENT));
+    }
+
+    @Test
+    public void shouldIgnoreAMalformedRange() throws Exception {
+        //when
+        ResultActions result = mockMvc.perform(get("/api/v1/images/" + IMAGE_ID)
+                .header(HttpHeaders.RANGE, "bytes=5-2"));
+        //then
+        result
+                .andExpect(status().isOk())
+                .andExpect(content().string(CONTENT));
+    }
+
+    @Test
+    public void shouldRejectARangeBeyondTheEndOfTheImage() throws Exception {
+        //when
+        ResultActions result = mockMvc.perform(get("/api/v1/images/" + IMAGE_ID)
+                .header(HttpHeaders.RANGE, "bytes=10-20"));
+        //then
+        result
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+    }
+
+    @Test
+    public void shouldServeTheRangeWhenIfRangeMatches() throws Exception {
+        //when
+        ResultActions result = mockMvc.perform(get("/api/v1/images/" + IMAGE_ID)
+                .header(HttpHeaders.RANGE, "bytes=0-1")
+                .header(HttpHeaders.IF_RANGE, ETAG));
+        //then
+        result
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("01"));
+    }
+
+    @Test
+    public void shouldServeTheWholeImageWhenIfRangeIsStale() throws Exception {
+        //when
+        ResultActions result = mockMvc.perform(get("/api/v1/images/" + IMAGE_ID)
+                .header(HttpHeaders.RANGE, "bytes=0-1")
+                .header(HttpHeaders.IF_RANGE, "\"stale\""));
+        //then
+        result
+                .andExpect(status().isOk())
+                .andExpect(content().string(CONTENT));
+    }
+
+    @Test
+    public void shouldAnswerNotModifiedWhenTheEtagMatches() throws Exception {
+        //when
+        ResultActions result = mockMvc.perform(get("/api/v1/images/" + IMAGE_ID)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"other\", W/" + ETAG));
+        //then
+        result
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    public void shouldSendOnlyHeadersForHead() throws Exception {
+        //when
+        ResultActions result = mockMvc.perform(head("/api/v1/images/" + IMAGE_ID)
+                .header(HttpHeaders.RANGE, "bytes=0-3"));
+        //then
+        result
+                .andExpect(status().isPartialContent())
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 4))
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 0-3/10"))
+                .andExpect(content().string(is("")));
+    }
+}
@@ -0,0 +1,85 @@
+package com.andyestrada.crochetcreations.services.audit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+public class AuditSegmentStoreUnitTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    public void shouldRotateFullSegmentsAndReadRecordsNewestFirst() throws IOException {
+        //given
+        AuditSegmentStore store = new AuditSegmentStore(directory, 8, 60_000);
+        store.append(bytes("one"), 1_000);
+        store.append(bytes("two"), 2_000);
+        store.append(bytes("three"), 3_000);
+        //when
+        List<String> records = new ArrayList<>();
+        store.read(0, Long.MAX_VALUE, true, record -> records.add(new String(record, StandardCharsets.UTF_8)));
+        //then
+        assertThat(records, contains("three", "two", "one"));
+        assertThat(segmentCount(), is(2L));
+    }
+
+    @Test
+    public void shouldOnlyDeleteSegmentsWhoseRecordsAreAllExpired() throws IOException {
+        //given
+        AuditSegmentStore store = new AuditSegmentStore(directory, 64, 1_000);
+        store.append(bytes("old"), 1_000);
+        store.append(bytes("older"), 2_500);
+        store.append(bytes("current"), 5_000);
+        //when
+        int deleted = store.deleteOlderThan(3_000);
+        store.close();
+        //then
+        assertThat(deleted, is(1));
+        assertThat(segmentCount(), is(2L));
+        assertThat(Files.size(directory.resolve(String.format("audit-%013d-%04d.ndjson", 5_000, 3))), is(8L));
+    }
+
+    @Test
+    public void shouldStreamLargeSegmentsBackwardsAndStopWhenTheReaderIsDone() throws IOException {
+        //given
+        AuditSegmentStore store = new AuditSegmentStore(directory, 1 << 20, 60_000);
+        for (int i = 0; i < 20_000; i++) {
+            store.append(bytes("record-" + i), 1_000);
+        }
+        List<String> newest = new ArrayList<>();
+        List<String> all = new ArrayList<>();
+        //when
+        store.read(0, Long.MAX_VALUE, true, record -> {
+            newest.add(new String(record, StandardCharsets.UTF_8));
+            return newest.size() < 3;
+        });
+        store.read(0, Long.MAX_VALUE, true, record -> all.add(new String(record, StandardCharsets.UTF_8)));
+        //then
+        assertThat(newest, contains("record-19999", "record-19998", "record-19997"));
+        assertThat(all.size(), is(20_000));
+        assertThat(all.get(12_345), is("record-7654"));
+        assertThat(all.get(19_999), is("record-0"));
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private static byte[] bytes(String record) {
+        return record.getBytes(StandardCharsets.UTF_8);
+    }
+}
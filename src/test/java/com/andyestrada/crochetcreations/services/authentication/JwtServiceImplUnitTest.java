@@ -0,0 +1,59 @@
+package com.andyestrada.crochetcreations.services.authentication;
+
+import com.andyestrada.crochetcreations.entities.Role;
+import com.andyestrada.crochetcreations.entities.User;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class JwtServiceImplUnitTest {
+
+    private static final String SIGNING_KEY = "413F4428472B4B6250655368566D5970337336763979244226452948404D6351";
+
+    private final JwtService jwtService = new JwtServiceImpl(SIGNING_KEY, Duration.ofMinutes(24),
+            new SimpleMeterRegistry());
+
+    @Test
+    public void shouldVerifyGeneratedToken() {
+        //given
+        User user = User.builder().email("test@email.com").role(Role.USER).build();
+        String jwt = jwtService.generateToken(user);
+        //when
+        VerifiedToken token = jwtService.verifyToken(jwt);
+        //then
+        assertThat(token.subject(), is("test@email.com"));
+        assertThat(token.isExpired(), is(false));
+        assertThat(jwtService.isTokenValid(token, user), is(true));
+    }
+
+    @Test
+    public void shouldRejectTamperedToken() {
+        //given
+        User user = User.builder().email("test@email.com").role(Role.USER).build();
+        String jwt = jwtService.generateToken(user);
+        //when
+        String tampered = jwt.substring(0, jwt.length() - 2) + (jwt.endsWith("AA") ? "BB" : "AA");
+        //then
+        assertThrows(JwtException.class, () -> jwtService.verifyToken(tampered));
+    }
+
+    @Test
+    public void shouldEmbedAuthoritiesAndTokenVersion() {
+        //given
+        User user = User.builder().id(7L).email("admin@email.com").role(Role.ADMIN).tokenVersion(3).build();
+        //when
+        VerifiedToken token = jwtService.verifyToken(jwtService.generateToken(user));
+        //then
+        assertThat(token.userId(), is(7L));
+        assertThat(token.role(), is(Role.ADMIN));
+        assertThat(token.tokenVersion(), is(3L));
+        user.setTokenVersion(4);
+        assertThat(jwtService.isTokenValid(token, user), is(false));
+    }
+}
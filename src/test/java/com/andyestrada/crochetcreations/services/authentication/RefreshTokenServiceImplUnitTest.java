@@ -0,0 +1,130 @@
+package com.andyestrada.crochetcreations.services.authentication;
+
+import com.andyestrada.crochetcreations.entities.RefreshToken;
+import com.andyestrada.crochetcreations.entities.Role;
+import com.andyestrada.crochetcreations.entities.User;
+import com.andyestrada.crochetcreations.repositories.RefreshTokenRepository;
+import com.andyestrada.crochetcreations.repositories.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+public class RefreshTokenServiceImplUnitTest {
+
+    private final RefreshTokenRepository refreshTokenRepository = mock(RefreshTokenRepository.class);
+    private final RefreshTokenService refreshTokenService = new RefreshTokenServiceImpl(refreshTokenRepository,
+            mock(UserRepository.class), Duration.ofDays(7), Duration.ofDays(30));
+    private final User user = User.builder().id(1L).email("user@email.com").role(Role.USER).build();
+
+    @Test
+    public void shouldRotateWithinTheFamilyAndSlideTheExpiry() {
+        //given
+        Instant familyExpiresAt = Instant.now().plus(Duration.ofDays(20));
+        given(refreshTokenRepository.findByTokenHash(anyString()))
+                .willReturn(Optional.of(token(false, Instant.now().plus(Duration.ofHours(1)), familyExpiresAt)));
+        given(refreshTokenRepository.markRevoked(10L)).willReturn(1);
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        //when
+        RefreshTokenService.RotatedRefreshToken rotated = refreshTokenService.rotate("presented");
+        //then
+        verify(refreshTokenRepository).save(saved.capture());
+        assertThat(rotated.user(), is(user));
+        assertThat(rotated.refreshToken(), not(is("presented")));
+        assertThat(saved.getValue().getFamilyId(), is("family"));
+        assertThat(saved.getValue().getFamilyExpiresAt(), is(familyExpiresAt));
+        assertThat(saved.getValue().getExpiresAt(), greaterThan(Instant.now().plus(Duration.ofDays(6))));
+        assertThat(saved.getValue().getTokenHash(), hasLength(64));
+    }
+
+    @Test
+    public void shouldCapTheSlidingExpiryAtTheFamilyLifetime() {
+        //given
+        Instant familyExpiresAt = Instant.now().plus(Duration.ofDays(2));
+        given(refreshTokenRepository.findByTokenHash(anyString()))
+                .willReturn(Optional.of(token(false, Instant.now().plus(Duration.ofHours(1)), familyExpiresAt)));
+        given(refreshTokenRepository.markRevoked(10L)).willReturn(1);
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        //when
+        refreshTokenService.rotate("presented");
+        //then
+        verify(refreshTokenRepository).save(saved.capture());
+        assertThat(saved.getValue().getExpiresAt(), is(familyExpiresAt));
+    }
+
+    @Test
+    public void shouldRevokeTheWholeFamilyWhenARotatedTokenIsReused() {
+        //given
+        given(refreshTokenRepository.findByTokenHash(anyString()))
+                .willReturn(Optional.of(token(true, Instant.now().plus(Duration.ofHours(1)), Instant.now().plus(Duration.ofDays(20)))));
+        //when
+        BadCredentialsException e = assertThrows(BadCredentialsException.class,
+                () -> refreshTokenService.rotate("presented"));
+        //then
+        assertThat(e.getMessage(), containsString("reuse"));
+        verify(refreshTokenRepository).revokeFamily("family");
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    public void shouldRevokeTheWholeFamilyWhenAConcurrentRotationWins() {
+        //given
+        given(refreshTokenRepository.findByTokenHash(anyString()))
+                .willReturn(Optional.of(token(false, Instant.now().plus(Duration.ofHours(1)), Instant.now().plus(Duration.ofDays(20)))));
+        given(refreshTokenRepository.markRevoked(10L)).willReturn(0);
+        //when
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate("presented"));
+        //then
+        verify(refreshTokenRepository).revokeFamily("family");
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    public void shouldRejectExpiredTokens() {
+        //given
+        given(refreshTokenRepository.findByTokenHash(anyString()))
+                .willReturn(Optional.of(token(false, Instant.now().minusSeconds(1), Instant.now().plus(Duration.ofDays(20)))));
+        given(refreshTokenRepository.markRevoked(10L)).willReturn(1);
+        //when
+        BadCredentialsException e = assertThrows(BadCredentialsException.class,
+                () -> refreshTokenService.rotate("presented"));
+        //then
+        assertThat(e.getMessage(), containsString("expired"));
+        verify(refreshTokenRepository, never()).revokeFamily(anyString());
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    public void shouldRejectMissingTokensWithoutALookup() {
+        //when
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate(null));
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate(" "));
+        //then
+        verify(refreshTokenRepository, never()).findByTokenHash(anyString());
+        verify(refreshTokenRepository, never()).markRevoked(anyLong());
+    }
+
+    private RefreshToken token(boolean revoked, Instant expiresAt, Instant familyExpiresAt) {
+        return RefreshToken.builder()
+                .id(10L)
+                .tokenHash("hash")
+                .familyId("family")
+                .user(user)
+                .expiresAt(expiresAt)
+                .familyExpiresAt(familyExpiresAt)
+                .revoked(revoked)
+                .build();
+    }
+}
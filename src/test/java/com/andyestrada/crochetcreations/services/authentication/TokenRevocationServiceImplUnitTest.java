@@ -0,0 +1,49 @@
+package com.andyestrada.crochetcreations.services.authentication;
+
+import com.andyestrada.crochetcreations.entities.Role;
+import com.andyestrada.crochetcreations.entities.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class TokenRevocationServiceImplUnitTest {
+
+    private static final String SIGNING_KEY = "413F4428472B4B6250655368566D5970337336763979244226452948404D6351";
+
+    private final JwtService jwtService = new JwtServiceImpl(SIGNING_KEY, Duration.ofMinutes(24),
+            new SimpleMeterRegistry());
+
+    @Test
+    public void shouldRevokeOnlyTheGivenToken() {
+        //given
+        TokenRevocationService revocationService = new TokenRevocationServiceImpl(4);
+        User user = User.builder().id(1L).email("test@email.com").role(Role.USER).build();
+        VerifiedToken revoked = jwtService.verifyToken(jwtService.generateToken(user));
+        VerifiedToken active = jwtService.verifyToken(jwtService.generateToken(user));
+        //when
+        revocationService.revoke(revoked);
+        //then
+        assertThat(revocationService.isRevoked(revoked), is(true));
+        assertThat(revocationService.isRevoked(active), is(false));
+    }
+
+    @Test
+    public void shouldKeepRevokedTokensWhenFilterGrows() {
+        //given
+        TokenRevocationService revocationService = new TokenRevocationServiceImpl(4);
+        User user = User.builder().id(1L).email("test@email.com").role(Role.USER).build();
+        VerifiedToken first = jwtService.verifyToken(jwtService.generateToken(user));
+        //when
+        revocationService.revoke(first);
+        for (int i = 0; i < 20; i++) {
+            revocationService.revoke(jwtService.verifyToken(jwtService.generateToken(user)));
+        }
+        //then
+        assertThat(revocationService.revokedCount(), is(21));
+        assertThat(revocationService.isRevoked(first), is(true));
+    }
+}
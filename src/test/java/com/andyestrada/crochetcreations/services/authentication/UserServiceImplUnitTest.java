@@ -0,0 +1,84 @@
+package com.andyestrada.crochetcreations.services.authentication;
+
+import com.andyestrada.crochetcreations.entities.Role;
+import com.andyestrada.crochetcreations.repositories.UserRepository;
+import com.andyestrada.crochetcreations.repositories.projections.AuthUser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class UserServiceImplUnitTest {
+
+    private static final String EMAIL = "test@email.com";
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    @BeforeEach
+    public void setUp() {
+        given(transactionManager.getTransaction(any())).willReturn(new SimpleTransactionStatus());
+        given(userRepository.findAuthUserByEmail(EMAIL))
+                .willReturn(Optional.of(new AuthUser(1L, EMAIL, Role.USER, "password", 0)));
+    }
+
+    @Test
+    public void shouldReadUsersInReadOnlyTransactions() {
+        //given
+        UserService userService = userService(Duration.ofSeconds(5));
+        //when
+        userService.userDetailsService().loadUserByUsername(EMAIL);
+        //then
+        assertThat(readOnlyFlags(1), is(List.of(true)));
+    }
+
+    @Test
+    public void shouldReadRecentlyWrittenUsersFromThePrimary() {
+        //given
+        UserService userService = userService(Duration.ofSeconds(5));
+        //when
+        userService.evictUser(" Test@Email.com ");
+        userService.userDetailsService().loadUserByUsername(EMAIL);
+        //then
+        assertThat(readOnlyFlags(1), is(List.of(false)));
+    }
+
+    @Test
+    public void shouldReturnToReplicaReadsAfterTheWindow() throws InterruptedException {
+        //given
+        UserService userService = userService(Duration.ofMillis(50));
+        userService.evictUser(EMAIL);
+        userService.userDetailsService().loadUserByUsername(EMAIL);
+        //when
+        Thread.sleep(100);
+        userService.userDetailsService().loadUserByUsername(EMAIL);
+        //then
+        assertThat(readOnlyFlags(2), is(List.of(false, true)));
+    }
+
+    private UserService userService(Duration readYourWritesWindow) {
+        return new UserServiceImpl(userRepository, transactionManager, new SimpleMeterRegistry(),
+                false, 100, Duration.ofMinutes(5), readYourWritesWindow);
+    }
+
+    private List<Boolean> readOnlyFlags(int transactions) {
+        ArgumentCaptor<TransactionDefinition> definitions = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager, times(transactions)).getTransaction(definitions.capture());
+        return definitions.getAllValues().stream().map(TransactionDefinition::isReadOnly).toList();
+    }
+}
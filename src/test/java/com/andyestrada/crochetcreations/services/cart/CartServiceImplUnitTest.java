@@ -0,0 +1,61 @@
+package com.andyestrada.crochetcreations.services.cart;
+
+import com.andyestrada.crochetcreations.dto.response.CartResponseDto;
+import com.andyestrada.crochetcreations.entities.CartItem;
+import com.andyestrada.crochetcreations.repositories.CartItemRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+public class CartServiceImplUnitTest {
+
+    private final CartItemRepository cartItemRepository = mock(CartItemRepository.class);
+
+    private final CartServiceImpl cartService = new CartServiceImpl(cartItemRepository,
+            mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), 2, 5, 100, Duration.ZERO);
+
+    @Test
+    public void shouldServeMutationsFromMemoryAndPersistThemOnFlush() {
+        //given
+        given(cartItemRepository.findByUserIdOrderByIdAsc(1L)).willReturn(List.of());
+        //when
+        cartService.addItem(1L, 10L, 2);
+        cartService.addItem(1L, 10L, 1);
+        CartResponseDto cart = cartService.updateItem(1L, 11L, 4);
+        cartService.flushDirtyCarts();
+        cartService.flushDirtyCarts();
+        //then
+        assertThat(cart.getTotalQuantity(), is(7));
+        assertThat(cart.getItems(), hasSize(2));
+        verify(cartItemRepository, times(1)).findByUserIdOrderByIdAsc(1L);
+        verify(cartItemRepository, times(1)).deleteByUserIds(List.of(1L));
+        verify(cartItemRepository, times(1)).saveAll(anyList());
+        assertThrows(InvalidCartOperationException.class, () -> cartService.addItem(1L, 12L, 1));
+        assertThrows(InvalidCartOperationException.class, () -> cartService.addItem(1L, 10L, 3));
+    }
+
+    @Test
+    public void shouldReloadEvictedCartsFromTheDatabase() {
+        //given
+        given(cartItemRepository.findByUserIdOrderByIdAsc(1L))
+                .willReturn(List.of(CartItem.builder().userId(1L).productId(10L).quantity(3).build()));
+        cartService.removeItem(1L, 10L);
+        //when
+        cartService.flushAndEvict();
+        cartService.getCart(1L);
+        //then
+        verify(cartItemRepository, times(2)).findByUserIdOrderByIdAsc(1L);
+        verify(cartItemRepository, times(1)).deleteByUserIds(anyCollection());
+    }
+}
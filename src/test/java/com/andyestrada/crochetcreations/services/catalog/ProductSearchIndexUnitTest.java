@@ -0,0 +1,84 @@
+package com.andyestrada.crochetcreations.services.catalog;
+
+import com.andyestrada.crochetcreations.dto.response.ProductDto;
+import com.andyestrada.crochetcreations.dto.response.ProductSearchResponseDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class ProductSearchIndexUnitTest {
+
+    private final ProductSearchIndex index = new ProductSearchIndex(new SimpleMeterRegistry(), 100);
+
+    @Test
+    public void shouldMatchAllTermsByPrefixAndApplyFilters() {
+        //given
+        index.rebuild(List.of(
+                product(1L, "Amigurumi Bunny", "Toys", "25.00", 3, "Soft cotton bunny", "easter"),
+                product(2L, "Bunny Ear Beanie", "Hats", "18.50", 0, "Warm wool beanie", "winter"),
+                product(3L, "Cotton Market Bag", "Bags", "30.00", 5, "Reusable bag", "eco")));
+        //when
+        ProductSearchResponseDto bunnies = index.search(criteria("bun", null, null, false));
+        ProductSearchResponseDto cottonBunnies = index.search(criteria("cotton bunny", null, null, false));
+        ProductSearchResponseDto inStockBunnies = index.search(criteria("bunny", null, null, true));
+        ProductSearchResponseDto cheapHats = index.search(criteria(null, "hats", new BigDecimal("20"), false));
+        //then
+        assertThat(bunnies.getTotal(), is(2));
+        assertThat(cottonBunnies.getProducts().stream().map(ProductDto::getId).toList(), contains(1L));
+        assertThat(inStockBunnies.getProducts().stream().map(ProductDto::getId).toList(), contains(1L));
+        assertThat(cheapHats.getProducts().stream().map(ProductDto::getId).toList(), contains(2L));
+    }
+
+    @Test
+    public void shouldReflectIncrementalUpdates() {
+        //given
+        index.rebuild(List.of(product(1L, "Granny Square Blanket", "Home", "80.00", 1, null, "blanket")));
+        //when
+        index.upsert(product(1L, "Chunky Throw", "Home", "85.00", 1, null, "blanket"));
+        index.upsert(product(2L, "Granny Square Coasters", "Home", "12.00", 9, null, "kitchen"));
+        index.remove(3L);
+        //then
+        assertThat(index.search(criteria("granny", null, null, false)).getProducts().stream()
+                .map(ProductDto::getId).toList(), contains(2L));
+        assertThat(index.search(criteria("chunky", null, null, false)).getTotal(), is(1));
+        assertThat(index.search(criteria("blanket", null, null, false)).getTotal(), is(1));
+    }
+
+    @Test
+    public void shouldNotExposeIndexedStateToCallers() {
+        //given
+        ProductDto indexed = product(1L, "Granny Square Blanket", "Home", "80.00", 1, null, "blanket");
+        index.rebuild(List.of(indexed));
+        //when
+        indexed.setStock(0);
+        index.find(1L).orElseThrow().setPrice(BigDecimal.ONE);
+        index.search(criteria("granny", null, null, false)).getProducts().get(0).setName("Changed");
+        //then
+        ProductDto found = index.find(1L).orElseThrow();
+        assertThat(found.getStock(), is(1));
+        assertThat(found.getPrice(), is(new BigDecimal("80.00")));
+        assertThat(found.getName(), is("Granny Square Blanket"));
+    }
+
+    private static ProductSearchCriteria criteria(String text, String category, BigDecimal maxPrice, boolean inStock) {
+        return new ProductSearchCriteria(text, category, null, maxPrice, inStock, null, 0, 24);
+    }
+
+    private static ProductDto product(Long id, String name, String category, String price, int stock,
+                                      String description, String tag) {
+        return ProductDto.builder()
+                .id(id)
+                .name(name)
+                .category(category)
+                .price(new BigDecimal(price))
+                .stock(stock)
+                .description(description)
+                .tags(List.of(tag))
+                .build();
+    }
+}
@@ -0,0 +1,99 @@
+package com.andyestrada.crochetcreations.services.images;
+
+import com.andyestrada.crochetcreations.dto.response.ProductImageDto;
+import com.andyestrada.crochetcreations.entities.ProductImage;
+import com.andyestrada.crochetcreations.repositories.ProductImageRepository;
+import com.andyestrada.crochetcreations.services.catalog.ProductService;
+import com.andyestrada.crochetcreations.services.catalog.ProductStockChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class ImageServiceImplUnitTest {
+
+    private final ProductImageRepository productImageRepository = mock(ProductImageRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    public void shouldStoreOriginalsByContentAndResizeThumbnailsOnce() throws IOException {
+        //given
+        ImageServiceImpl imageService = imageService();
+        given(productImageRepository.findByProductIdAndImageId(any(), any())).willReturn(Optional.empty());
+        given(productImageRepository.save(any())).willAnswer(invocation -> invocation.getArgument(0, ProductImage.class));
+        ProductImageDto uploaded = imageService.upload(1L, new MockMultipartFile("file", "fox.png", "image/png", png(800, 400)));
+        //when
+        ImageContent original = imageService.load(uploaded.getImageId(), null);
+        ImageContent thumbnail = imageService.load(uploaded.getImageId(), 160);
+        imageService.load(uploaded.getImageId(), 160);
+        //then
+        assertThat(uploaded.getImageId(), matchesPattern("[0-9a-f]{32}\\.png"));
+        assertThat(original.file(), notNullValue());
+        BufferedImage resized = ImageIO.read(new ByteArrayInputStream(thumbnail.bytes()));
+        assertThat(resized.getWidth(), is(160));
+        assertThat(resized.getHeight(), is(80));
+        assertThat(meterRegistry.get("images.thumbnails.generated").counter().count(), is(1.0));
+    }
+
+    @Test
+    public void shouldRejectFilesThatAreNotImages() throws IOException {
+        //given
+        ImageServiceImpl imageService = imageService();
+        MockMultipartFile file = new MockMultipartFile("file", "notes.txt", "text/plain", "hello".getBytes());
+        //when //then
+        assertThrows(InvalidImageException.class, () -> imageService.upload(1L, file));
+    }
+
+    @Test
+    public void shouldDeleteImagesOfDeletedProducts() throws IOException {
+        //given
+        ImageServiceImpl imageService = imageService();
+        given(productImageRepository.findByProductIdAndImageId(any(), any())).willReturn(Optional.empty());
+        given(productImageRepository.save(any())).willAnswer(invocation -> invocation.getArgument(0, ProductImage.class));
+        ProductImageDto uploaded = imageService.upload(1L, new MockMultipartFile("file", "fox.png", "image/png", png(80, 40)));
+        ProductImage image = ProductImage.builder().productId(1L).imageId(uploaded.getImageId()).build();
+        given(productImageRepository.findByProductIdOrderByIdAsc(1L)).willReturn(List.of(image));
+        //when
+        imageService.onStockChanged(new ProductStockChangedEvent(1L, 5));
+        boolean keptOnStockChange = Files.exists(directory.resolve("originals").resolve(uploaded.getImageId()));
+        imageService.onStockChanged(new ProductStockChangedEvent(1L, null));
+        //then
+        assertThat(keptOnStockChange, is(true));
+        verify(productImageRepository).delete(image);
+        assertThat(Files.exists(directory.resolve("originals").resolve(uploaded.getImageId())), is(false));
+    }
+
+    private ImageServiceImpl imageService() throws IOException {
+        return new ImageServiceImpl(mock(ProductService.class), productImageRepository, meterRegistry, directory,
+                Set.of(160, 320), DataSize.ofMegabytes(1), DataSize.ofMegabytes(1), 1_000_000);
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", output);
+        return output.toByteArray();
+    }
+}
@@ -0,0 +1,209 @@
+package com.andyestrada.crochetcreations.services.inventory;
+
+import com.andyestrada.crochetcreations.dto.response.CartItemDto;
+import com.andyestrada.crochetcreations.dto.response.CartResponseDto;
+import com.andyestrada.crochetcreations.dto.response.ProductDto;
+import com.andyestrada.crochetcreations.entities.PurchaseOrder;
+import com.andyestrada.crochetcreations.entities.PurchaseOrderItem;
+import com.andyestrada.crochetcreations.repositories.ProductRepository;
+import com.andyestrada.crochetcreations.repositories.PurchaseOrderRepository;
+import com.andyestrada.crochetcreations.services.cart.CartService;
+import com.andyestrada.crochetcreations.services.catalog.ProductService;
+import com.andyestrada.crochetcreations.services.catalog.ProductStockChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+public class InventoryServiceImplUnitTest {
+
+    private static final Long SCARF_ID = 1L;
+    private static final Long HAT_ID = 2L;
+
+    private final CartService cartService = mock(CartService.class);
+    private final ProductService productService = mock(ProductService.class);
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final PurchaseOrderRepository purchaseOrderRepository = mock(PurchaseOrderRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<PurchaseOrder> savedOrders = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        given(transactionManager.getTransaction(any())).willReturn(new SimpleTransactionStatus());
+        given(productService.getProduct(SCARF_ID)).willReturn(product(SCARF_ID, 2, "19.99"));
+        given(productService.getProduct(HAT_ID)).willReturn(product(HAT_ID, 5, "12.50"));
+        given(productRepository.decrementStock(anyLong(), anyInt())).willReturn(1);
+    }
+
+    @Test
+    public void shouldNotReserveMoreThanIsInStock() {
+        //given
+        InventoryService inventoryService = inventoryService(Duration.ofMinutes(10), 10);
+        cart(1L, new CartItemDto(HAT_ID, 5));
+        cart(2L, new CartItemDto(HAT_ID, 1), new CartItemDto(SCARF_ID, 1));
+        cart(3L, new CartItemDto(SCARF_ID, 2));
+        inventoryService.reserveCart(1L);
+        //when
+        assertThrows(InsufficientStockException.class, () -> inventoryService.reserveCart(2L));
+        //then
+        assertThat(inventoryService.reserveCart(3L).getStatus(), is("PENDING"));
+    }
+
+    @Test
+    public void shouldReleaseStockWhenReservationExpires() throws InterruptedException {
+        //given
+        InventoryServiceImpl inventoryService = inventoryService(Duration.ofMillis(1), 10);
+        cart(1L, new CartItemDto(SCARF_ID, 2));
+        cart(2L, new CartItemDto(SCARF_ID, 2));
+        String reservationId = inventoryService.reserveCart(1L).getReservationId();
+        //when
+        Thread.sleep(20);
+        inventoryService.expireReservations();
+        //then
+        assertThat(inventoryService.reserveCart(2L).getStatus(), is("PENDING"));
+        assertThrows(ReservationNotFoundException.class, () -> inventoryService.confirm(1L, reservationId));
+        assertThat(meterRegistry.get("inventory.reservations").tag("result", "expired").counter().count(), is(1.0));
+    }
+
+    @Test
+    public void shouldCommitConfirmedReservationsAtTheReservedPrice() {
+        //given
+        InventoryServiceImpl inventoryService = inventoryService(Duration.ofMinutes(10), 10);
+        recordSavedOrders();
+        cart(1L, new CartItemDto(SCARF_ID, 1), new CartItemDto(HAT_ID, 2));
+        cart(2L, new CartItemDto(HAT_ID, 1));
+        inventoryService.confirm(1L, inventoryService.reserveCart(1L).getReservationId());
+        inventoryService.confirm(2L, inventoryService.reserveCart(2L).getReservationId());
+        given(productService.getProduct(HAT_ID)).willReturn(product(HAT_ID, 2, "15.00"));
+        //when
+        inventoryService.commitConfirmed();
+        //then
+        assertThat(savedOrders, hasSize(2));
+        assertThat(savedOrders.get(0).getItems(), is(List.of(
+                new PurchaseOrderItem(SCARF_ID, 1, new BigDecimal("19.99")),
+                new PurchaseOrderItem(HAT_ID, 2, new BigDecimal("12.50")))));
+        verify(productRepository).decrementStock(SCARF_ID, 1);
+        verify(productRepository).decrementStock(HAT_ID, 3);
+        verify(cartService).clear(1L);
+        assertThat(meterRegistry.get("inventory.commits.pending").gauge().value(), is(0.0));
+    }
+
+    @Test
+    public void shouldClearTheStockOfAnOversoldProduct() {
+        //given
+        InventoryServiceImpl inventoryService = inventoryService(Duration.ofMinutes(10), 10);
+        recordSavedOrders();
+        cart(1L, new CartItemDto(SCARF_ID, 2));
+        inventoryService.confirm(1L, inventoryService.reserveCart(1L).getReservationId());
+        given(productRepository.decrementStock(SCARF_ID, 2)).willReturn(0);
+        //when
+        inventoryService.commitConfirmed();
+        //then
+        assertThat(savedOrders, hasSize(1));
+        verify(productRepository).clearStock(SCARF_ID);
+        verify(productService).refreshProducts(Set.of(SCARF_ID));
+        assertThat(meterRegistry.get("inventory.oversold").counter().count(), is(2.0));
+    }
+
+    @Test
+    public void shouldResetToTheStockInTheDatabaseWhenAnAdminChangesIt() {
+        //given
+        InventoryServiceImpl inventoryService = inventoryService(Duration.ofMinutes(10), 10);
+        cart(1L, new CartItemDto(HAT_ID, 1));
+        cart(2L, new CartItemDto(HAT_ID, 2));
+        cart(3L, new CartItemDto(HAT_ID, 1));
+        inventoryService.confirm(1L, inventoryService.reserveCart(1L).getReservationId());
+        given(productRepository.findStockById(HAT_ID)).willReturn(Optional.of(3));
+        //when
+        inventoryService.onStockChanged(new ProductStockChangedEvent(HAT_ID, 9));
+        //then
+        assertThat(inventoryService.reserveCart(2L).getStatus(), is("PENDING"));
+        assertThrows(InsufficientStockException.class, () -> inventoryService.reserveCart(3L));
+    }
+
+    @Test
+    public void shouldSetAsideReservationsThatCannotBeWritten() {
+        //given
+        InventoryServiceImpl inventoryService = inventoryService(Duration.ofMinutes(10), 10);
+        cart(1L, new CartItemDto(SCARF_ID, 1));
+        cart(2L, new CartItemDto(HAT_ID, 1));
+        given(purchaseOrderRepository.saveAll(anyList())).willAnswer(invocation -> {
+            List<PurchaseOrder> orders = invocation.getArgument(0);
+            if (orders.stream().anyMatch(order -> order.getUserId().equals(1L))) {
+                throw new DataIntegrityViolationException("duplicate reservation");
+            }
+            savedOrders.addAll(orders);
+            return orders;
+        });
+        inventoryService.confirm(1L, inventoryService.reserveCart(1L).getReservationId());
+        inventoryService.confirm(2L, inventoryService.reserveCart(2L).getReservationId());
+        //when
+        inventoryService.commitConfirmed();
+        inventoryService.commitConfirmed();
+        //then
+        assertThat(savedOrders.stream().map(PurchaseOrder::getUserId).toList(), is(List.of(2L)));
+        assertThat(meterRegistry.get("inventory.commits.pending").gauge().value(), is(0.0));
+        assertThat(meterRegistry.get("inventory.commits.failed").gauge().value(), is(1.0));
+    }
+
+    @Test
+    public void shouldStopRetryingAfterTheMaximumAttempts() {
+        //given
+        InventoryServiceImpl inventoryService = inventoryService(Duration.ofMinutes(10), 3);
+        cart(1L, new CartItemDto(SCARF_ID, 1));
+        given(purchaseOrderRepository.saveAll(anyList())).willThrow(new IllegalStateException("database is down"));
+        inventoryService.confirm(1L, inventoryService.reserveCart(1L).getReservationId());
+        //when
+        inventoryService.commitConfirmed();
+        inventoryService.commitConfirmed();
+        double pendingBeforeLastAttempt = meterRegistry.get("inventory.commits.pending").gauge().value();
+        inventoryService.commitConfirmed();
+        inventoryService.commitConfirmed();
+        //then
+        assertThat(pendingBeforeLastAttempt, is(1.0));
+        verify(purchaseOrderRepository, times(3)).saveAll(anyList());
+        assertThat(meterRegistry.get("inventory.commits.pending").gauge().value(), is(0.0));
+        assertThat(meterRegistry.get("inventory.commits.failed").gauge().value(), is(1.0));
+    }
+
+    private InventoryServiceImpl inventoryService(Duration reservationTtl, int commitMaxAttempts) {
+        return new InventoryServiceImpl(cartService, productService, productRepository, purchaseOrderRepository,
+                transactionManager, meterRegistry, reservationTtl, Duration.ofMillis(1), 10, commitMaxAttempts);
+    }
+
+    private void recordSavedOrders() {
+        given(purchaseOrderRepository.saveAll(anyList())).willAnswer(invocation -> {
+            List<PurchaseOrder> orders = invocation.getArgument(0);
+            savedOrders.addAll(orders);
+            return orders;
+        });
+    }
+
+    private void cart(Long userId, CartItemDto... items) {
+        given(cartService.getCart(userId)).willReturn(CartResponseDto.builder().items(List.of(items)).build());
+    }
+
+    private static ProductDto product(Long id, int stock, String price) {
+        return ProductDto.builder().id(id).stock(stock).price(new BigDecimal(price)).build();
+    }
+}
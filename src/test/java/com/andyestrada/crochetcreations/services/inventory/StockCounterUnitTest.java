@@ -0,0 +1,55 @@
+package com.andyestrada.crochetcreations.services.inventory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class StockCounterUnitTest {
+
+    @Test
+    public void shouldNeverReserveMoreThanIsAvailable() throws InterruptedException {
+        //given
+        StockCounter counter = new StockCounter(2);
+        AtomicInteger reserved = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        //when
+        for (int i = 0; i < 64; i++) {
+            executor.submit(() -> {
+                start.await();
+                if (counter.tryReserve(1)) {
+                    reserved.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        //then
+        assertThat(reserved.get(), is(2));
+        assertThat(counter.available(), is(0));
+        assertThat(counter.reserved(), is(2));
+    }
+
+    @Test
+    public void shouldKeepReservationsWhenStockIsReset() {
+        //given
+        StockCounter counter = new StockCounter(5);
+        counter.tryReserve(3);
+        counter.confirm(1);
+        counter.release(1);
+        //when
+        counter.reset(10);
+        //then
+        assertThat(counter.reserved(), is(1));
+        assertThat(counter.available(), is(9));
+    }
+}
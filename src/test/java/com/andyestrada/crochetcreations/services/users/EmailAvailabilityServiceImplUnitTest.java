@@ -0,0 +1,65 @@
+package com.andyestrada.crochetcreations.services.users;
+
+import com.andyestrada.crochetcreations.repositories.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+public class EmailAvailabilityServiceImplUnitTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    private final EmailAvailabilityServiceImpl emailAvailabilityService = new EmailAvailabilityServiceImpl(
+            userRepository, mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), 1000, true);
+
+    @Test
+    public void shouldAnswerNewEmailsFromTheFilterAndConfirmHitsInTheDatabase() {
+        //given
+        given(userRepository.count()).willReturn(1L);
+        given(userRepository.streamAllEmails()).willReturn(Stream.of("admin@email.com"));
+        given(userRepository.existsByEmail("admin@email.com")).willReturn(true);
+        emailAvailabilityService.load();
+        //when
+        boolean newEmailAvailable = emailAvailabilityService.isAvailable("new@email.com");
+        boolean adminAvailable = emailAvailabilityService.isAvailable("Admin@Email.com");
+        //then
+        assertThat(newEmailAvailable, is(true));
+        assertThat(adminAvailable, is(false));
+        verify(userRepository, never()).existsByEmail("new@email.com");
+        verify(userRepository, times(1)).existsByEmail(anyString());
+    }
+
+    @Test
+    public void shouldConsultTheDatabaseForEmailsRegisteredAfterLoading() {
+        //given
+        given(userRepository.streamAllEmails()).willReturn(Stream.empty());
+        given(userRepository.existsByEmail("late@email.com")).willReturn(true);
+        emailAvailabilityService.load();
+        //when
+        emailAvailabilityService.registered("late@email.com");
+        //then
+        assertThat(emailAvailabilityService.isAvailable("late@email.com"), is(false));
+    }
+
+    @Test
+    public void shouldConfirmFilterNegativesWhenInstancesShareTheDatabase() {
+        //given
+        EmailAvailabilityServiceImpl sharedService = new EmailAvailabilityServiceImpl(userRepository,
+                mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), 1000, false);
+        given(userRepository.streamAllEmails()).willReturn(Stream.empty());
+        given(userRepository.existsByEmail("elsewhere@email.com")).willReturn(true);
+        sharedService.load();
+        //when
+        boolean available = sharedService.isAvailable("elsewhere@email.com");
+        //then
+        assertThat(available, is(false));
+    }
+}
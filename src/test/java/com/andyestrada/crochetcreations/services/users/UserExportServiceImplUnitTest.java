@@ -0,0 +1,84 @@
+package com.andyestrada.crochetcreations.services.users;
+
+import com.andyestrada.crochetcreations.entities.Role;
+import com.andyestrada.crochetcreations.repositories.UserRepository;
+import com.andyestrada.crochetcreations.repositories.projections.UserSummary;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class UserExportServiceImplUnitTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    private final UserExportServiceImpl userExportService = new UserExportServiceImpl(userRepository,
+            new ObjectMapper(), mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+
+    @Test
+    public void shouldQuoteCsvValuesContainingSeparatorsAndQuotes() throws IOException {
+        //given
+        given(userRepository.streamAllSummaries()).willReturn(Stream.of(
+                summary(1L, "admin@email.com", "Andy", "Estrada", Role.ADMIN),
+                summary(2L, "user@email.com", "Jo, \"JJ\"", null, Role.USER)));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        //when
+        long exported = userExportService.exportUsers(output, UserExportService.Format.CSV);
+        //then
+        assertThat(exported, is(2L));
+        assertThat(output.toString(StandardCharsets.UTF_8), is("id,email,firstName,lastName,role\n"
+                + "1,admin@email.com,Andy,Estrada,ADMIN\n"
+                + "2,user@email.com,\"Jo, \"\"JJ\"\"\",,USER\n"));
+    }
+
+    @Test
+    public void shouldNeutralizeCsvValuesThatLookLikeFormulas() throws IOException {
+        //given
+        given(userRepository.streamAllSummaries()).willReturn(Stream.of(
+                summary(1L, "@evil.com", "=HYPERLINK(\"http://x\",\"y\")", "-1+2", Role.USER),
+                summary(2L, "user@email.com", "+Jo", "\tTab", Role.USER)));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        //when
+        userExportService.exportUsers(output, UserExportService.Format.CSV);
+        //then
+        assertThat(output.toString(StandardCharsets.UTF_8), is("id,email,firstName,lastName,role\n"
+                + "1,'@evil.com,\"'=HYPERLINK(\"\"http://x\"\",\"\"y\"\")\",'-1+2,USER\n"
+                + "2,user@email.com,'+Jo,'\tTab,USER\n"));
+    }
+
+    @Test
+    public void shouldWriteOneJsonObjectPerLine() throws IOException {
+        //given
+        given(userRepository.streamAllSummaries()).willReturn(Stream.of(
+                summary(1L, "admin@email.com", "Andy", "Estrada", Role.ADMIN),
+                summary(2L, "user@email.com", "Line\nBreak", null, Role.USER)));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        //when
+        long exported = userExportService.exportUsers(output, UserExportService.Format.NDJSON);
+        //then
+        assertThat(exported, is(2L));
+        assertThat(output.toString(StandardCharsets.UTF_8),
+                is("{\"id\":1,\"email\":\"admin@email.com\",\"firstName\":\"Andy\",\"lastName\":\"Estrada\",\"role\":\"ADMIN\"}\n"
+                        + "{\"id\":2,\"email\":\"user@email.com\",\"firstName\":\"Line\\nBreak\",\"lastName\":null,\"role\":\"USER\"}\n"));
+    }
+
+    private static UserSummary summary(Long id, String email, String firstName, String lastName, Role role) {
+        return new UserSummary() {
+            public Long getId() { return id; }
+            public String getEmail() { return email; }
+            public String getFirstName() { return firstName; }
+            public String getLastName() { return lastName; }
+            public Role getRole() { return role; }
+        };
+    }
+}
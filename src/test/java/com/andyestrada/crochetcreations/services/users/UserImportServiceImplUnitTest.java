@@ -0,0 +1,133 @@
+package com.andyestrada.crochetcreations.services.users;
+
+import com.andyestrada.crochetcreations.dto.response.UserImportErrorDto;
+import com.andyestrada.crochetcreations.dto.response.UserImportResultDto;
+import com.andyestrada.crochetcreations.entities.Role;
+import com.andyestrada.crochetcreations.entities.User;
+import com.andyestrada.crochetcreations.repositories.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+public class UserImportServiceImplUnitTest {
+
+    private static final String BCRYPT_HASH = "$2a$10$3Grbvme0zs4z8hW8pWPGJuvfQ0k9xxBJZS5J9xnHsFxqvtxJsMELm";
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+    private final EmailAvailabilityService emailAvailabilityService = mock(EmailAvailabilityService.class);
+    private final UserImportServiceImpl userImportService = new UserImportServiceImpl(userRepository,
+            passwordEncoder, emailAvailabilityService, new ObjectMapper(), mock(EntityManager.class),
+            mock(PlatformTransactionManager.class), 100, 2, 10);
+
+    @AfterEach
+    public void shutdown() {
+        userImportService.destroy();
+    }
+
+    @Test
+    public void shouldImportCsvRowsByHeaderAndReportInvalidOnes() throws IOException {
+        //given
+        given(passwordEncoder.encode(anyString())).willAnswer(invocation -> "hashed:" + invocation.getArgument(0));
+        String csv = """
+                role,Email,firstName,lastName,password
+                admin,First@Email.com,"Doe, Jane",Doe,secret
+                ,second@email.com,John,Smith,%s
+                ,not-an-email,Bad,Row,secret
+                """.formatted(BCRYPT_HASH);
+        //when
+        UserImportResultDto result = userImportService.importUsers(input(csv), UserImportService.Format.CSV);
+        //then
+        List<User> saved = savedBatch();
+        assertThat(result.getImported(), is(2L));
+        assertThat(result.getFailed(), is(1L));
+        assertThat(result.getErrors().get(0).getLine(), is(4L));
+        assertThat(saved.get(0).getEmail(), is("first@email.com"));
+        assertThat(saved.get(0).getFirstName(), is("Doe, Jane"));
+        assertThat(saved.get(0).getRole(), is(Role.ADMIN));
+        assertThat(saved.get(0).getPassword(), is("hashed:secret"));
+        assertThat(saved.get(1).getRole(), is(Role.USER));
+        assertThat(saved.get(1).getPassword(), is(BCRYPT_HASH));
+        verify(emailAvailabilityService).registered("first@email.com");
+    }
+
+    @Test
+    public void shouldImportNdjsonAndSkipKnownAndRepeatedEmails() throws IOException {
+        //given
+        given(passwordEncoder.encode(anyString())).willReturn("hashed");
+        given(userRepository.findExistingEmails(any())).willReturn(Set.of("taken@email.com"));
+        String ndjson = """
+                {"email":"new@email.com","password":"secret","role":"user"}
+                {"email":"taken@email.com","password":"secret"}
+                {"email":"NEW@email.com","password":"other"}
+                {"email":
+                """;
+        //when
+        UserImportResultDto result = userImportService.importUsers(input(ndjson), UserImportService.Format.NDJSON);
+        //then
+        assertThat(result.getImported(), is(1L));
+        assertThat(result.getFailed(), is(3L));
+        assertThat(result.getErrors().stream().map(UserImportErrorDto::getMessage).toList(), containsInAnyOrder(
+                "Email already registered", "Duplicate email in import", "Malformed row"));
+        assertThat(savedBatch().stream().map(User::getEmail).toList(), is(List.of("new@email.com")));
+    }
+
+    @Test
+    public void shouldFallBackToRowByRowInsertsWhenTheBatchViolatesAConstraint() throws IOException {
+        //given
+        given(passwordEncoder.encode(anyString())).willReturn("hashed");
+        given(userRepository.saveAllAndFlush(anyList()))
+                .willThrow(new DataIntegrityViolationException("UK_USERS_EMAIL"));
+        given(userRepository.saveAndFlush(any(User.class))).willAnswer(invocation -> {
+            User user = invocation.getArgument(0);
+            if (user.getEmail().equals("raced@email.com")) {
+                throw new DataIntegrityViolationException("UK_USERS_EMAIL");
+            }
+            return user;
+        });
+        String ndjson = """
+                {"email":"first@email.com","password":"secret"}
+                {"email":"raced@email.com","password":"secret"}
+                """;
+        //when
+        UserImportResultDto result = userImportService.importUsers(input(ndjson), UserImportService.Format.NDJSON);
+        //then
+        assertThat(result.getImported(), is(1L));
+        assertThat(result.getFailed(), is(1L));
+        assertThat(result.getErrors().get(0).getEmail(), is("raced@email.com"));
+        assertThat(result.getErrors().get(0).getLine(), is(2L));
+        verify(userRepository, times(2)).saveAndFlush(any(User.class));
+        verify(emailAvailabilityService).registered("first@email.com");
+        verify(emailAvailabilityService, never()).registered("raced@email.com");
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<User> savedBatch() {
+        ArgumentCaptor<List<User>> captor = ArgumentCaptor.forClass(List.class);
+        verify(userRepository).saveAllAndFlush(captor.capture());
+        return captor.getValue();
+    }
+
+    private static ByteArrayInputStream input(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
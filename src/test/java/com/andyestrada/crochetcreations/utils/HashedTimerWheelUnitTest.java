@@ -0,0 +1,49 @@
+package com.andyestrada.crochetcreations.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+
+public class HashedTimerWheelUnitTest {
+
+    @Test
+    public void shouldExpireItemsDueLaterInTheCurrentTickOnTheNextAdvance() {
+        //given
+        HashedTimerWheel<String> wheel = new HashedTimerWheel<>(8, 1_000);
+        wheel.advance(10_000, item -> {
+        });
+        wheel.schedule("reservation", 12_500);
+        List<String> expired = new ArrayList<>();
+        //when
+        wheel.advance(12_100, expired::add);
+        List<String> early = List.copyOf(expired);
+        wheel.advance(13_000, expired::add);
+        //then
+        assertThat(early, empty());
+        assertThat(expired, contains("reservation"));
+    }
+
+    @Test
+    public void shouldKeepItemsScheduledBeyondOneRotation() {
+        //given
+        HashedTimerWheel<String> wheel = new HashedTimerWheel<>(4, 1_000);
+        wheel.advance(0, item -> {
+        });
+        wheel.schedule("later", 6_000);
+        List<String> expired = new ArrayList<>();
+        //when
+        for (long now = 1_000; now <= 5_000; now += 1_000) {
+            wheel.advance(now, expired::add);
+        }
+        List<String> beforeDeadline = List.copyOf(expired);
+        wheel.advance(6_000, expired::add);
+        //then
+        assertThat(beforeDeadline, empty());
+        assertThat(expired, contains("later"));
+    }
+}
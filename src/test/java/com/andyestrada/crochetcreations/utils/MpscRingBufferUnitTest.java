@@ -0,0 +1,88 @@
+package com.andyestrada.crochetcreations.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class MpscRingBufferUnitTest {
+
+    @Test
+    public void shouldRejectOffersWhileFull() {
+        //given
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            buffer.offer(i);
+        }
+        //when
+        boolean offeredWhileFull = buffer.offer(4);
+        Integer first = buffer.poll();
+        boolean offeredAfterPoll = buffer.offer(5);
+        //then
+        assertThat(offeredWhileFull, is(false));
+        assertThat(first, is(0));
+        assertThat(offeredAfterPoll, is(true));
+        assertThat(List.of(buffer.poll(), buffer.poll(), buffer.poll(), buffer.poll()), is(List.of(1, 2, 3, 5)));
+        assertThat(buffer.poll(), nullValue());
+        assertThat(buffer.size(), is(0));
+    }
+
+    @Test
+    public void shouldDeliverEveryElementExactlyOnceFromConcurrentProducers() throws Exception {
+        //given
+        int producers = 4;
+        int perProducer = 20_000;
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(64);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> running = new ArrayList<>();
+        //when
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            running.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(producer * perProducer + i)) {
+                        Thread.yield();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        int[] received = new int[producers * perProducer];
+        int[] lastSeen = new int[producers];
+        Arrays.fill(lastSeen, -1);
+        boolean inProducerOrder = true;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        for (int count = 0; count < received.length && System.nanoTime() < deadline; ) {
+            Integer value = buffer.poll();
+            if (value == null) {
+                Thread.yield();
+                continue;
+            }
+            received[value]++;
+            int producer = value / perProducer;
+            inProducerOrder &= value % perProducer > lastSeen[producer];
+            lastSeen[producer] = value % perProducer;
+            count++;
+        }
+        for (Future<?> producer : running) {
+            producer.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        //then
+        assertThat(Arrays.stream(received).allMatch(times -> times == 1), is(true));
+        assertThat(inProducerOrder, is(true));
+        assertThat(buffer.poll(), nullValue());
+    }
+}